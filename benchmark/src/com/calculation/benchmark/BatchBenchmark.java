@@ -0,0 +1,163 @@
+package com.calculation.benchmark;
+
+import com.calculation.tools.AreaResolver;
+import com.calculation.tools.CalculationTools.FixedValue;
+import com.calculation.tools.CalculationTools.Value;
+import com.calculation.tools.StatBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Value}, {@link FixedValue}与{@link AreaResolver}中批量方法的基准测试, 结果为每次处理整组数据的耗时.
+ * <p>
+ * {@code backend}为{@code vector}时使用{@code jdk.incubator.vector}实现, 为{@code scalar}时强制使用标量实现.
+ *
+ * @author 留恋千年
+ * @version 1.1.0
+ * @since 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class BatchBenchmark
+{
+    @Param({"vector", "scalar"})
+    public String backend;
+
+    @Param
+    public InputPattern pattern;
+
+    @Param({"1024", "65536", "1048576"})
+    public int size;
+
+    int[] attackerStats;
+    int[] victimStats;
+    double[] attack;
+    double[] armor;
+    double[] damageReduction;
+    double[] evadeChance;
+    double[] critsEffect;
+    double[] doubleOut;
+    double[] secondDoubleOut;
+    double[] thirdDoubleOut;
+    int[] intOut;
+    StatBlock attacker;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        //必须在第一次使用Value之前设置
+        System.setProperty("calculation.vector", Boolean.toString("vector".equals(backend)));
+
+        final var random = new Random(42);
+        attackerStats = repeat(pattern.stats(random));
+        victimStats = repeat(pattern.stats(random));
+        final var attackAndArmor = pattern.attackAndArmor(random);
+        attack = repeat(attackAndArmor[0]);
+        armor = repeat(attackAndArmor[1]);
+        damageReduction = repeat(pattern.probabilities(random));
+        evadeChance = repeat(pattern.probabilities(random));
+        critsEffect = new double[size];
+        Arrays.fill(critsEffect, 1.5);
+        doubleOut = new double[size];
+        secondDoubleOut = new double[size];
+        thirdDoubleOut = new double[size];
+        intOut = new int[size];
+        attacker = StatBlock.builder().hit(attackerStats[0]).crit(attackerStats[1]).physicalAttack(attack[0]).build();
+    }
+
+    private int[] repeat(final int[] values)
+    {
+        final var result = new int[size];
+        for (int i = 0; i < size; i++)
+        {
+            result[i] = values[i & InputPattern.MASK];
+        }
+        return result;
+    }
+
+    private double[] repeat(final double[] values)
+    {
+        final var result = new double[size];
+        for (int i = 0; i < size; i++)
+        {
+            result[i] = values[i & InputPattern.MASK];
+        }
+        return result;
+    }
+
+    @Benchmark
+    public double[] attackHitRate()
+    {
+        Value.attackHitRate(attackerStats, victimStats, doubleOut, 0, size);
+        return doubleOut;
+    }
+
+    @Benchmark
+    public double[] attackerCritChance()
+    {
+        Value.attackerCritChance(attackerStats, victimStats, doubleOut, 0, size);
+        return doubleOut;
+    }
+
+    @Benchmark
+    public double[] attackerPhysicalDamage()
+    {
+        Value.attackerPhysicalDamage(attack, armor, doubleOut, 0, size);
+        return doubleOut;
+    }
+
+    @Benchmark
+    public double[] victimEffectiveHp()
+    {
+        Value.victimEffectiveHp(victimStats, damageReduction, evadeChance, doubleOut, 0, size);
+        return doubleOut;
+    }
+
+    @Benchmark
+    public int[] criticalDamage()
+    {
+        Value.criticalDamage(attack, critsEffect, intOut, 0, size);
+        return intOut;
+    }
+
+    @Benchmark
+    public double[] expectedSwingDamage()
+    {
+        Value.expectedSwingDamage(attackerStats, victimStats, victimStats, attackerStats, attack, armor, critsEffect,
+                doubleOut, 0, size);
+        return doubleOut;
+    }
+
+    @Benchmark
+    public double[] areaRates()
+    {
+        AreaResolver.rates(attacker, victimStats, attackerStats, armor, doubleOut, secondDoubleOut, thirdDoubleOut,
+                0, size);
+        return doubleOut;
+    }
+
+    @Benchmark
+    public int[] fixedAttackHitRate()
+    {
+        FixedValue.attackHitRate(attackerStats, victimStats, intOut, 0, size);
+        return intOut;
+    }
+}
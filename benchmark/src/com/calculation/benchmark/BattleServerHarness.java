@@ -0,0 +1,362 @@
+package com.calculation.benchmark;
+
+import com.calculation.tools.CalculationTools.Tools;
+import com.calculation.tools.CalculationTools.Value;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * 模拟战斗服务器的负载测试, 不依赖 JMH, 直接运行{@link #main(String[])}.
+ * <p>
+ * 每场战斗是一个独立的任务: 每回合双方各攻击一次, 通过{@link Value}计算命中几率, 暴击概率与伤害,
+ * 通过{@link Tools}判定命中, 暴击和伤害浮动, 回合之间等待{@code think}毫秒模拟客户端的操作间隔.
+ * 运行时存在{@code Executors.newVirtualThreadPerTaskExecutor()}(JDK 21)就每场战斗一个虚拟线程,
+ * 否则退回到固定大小的平台线程池, 此时同时进行的战斗数不超过线程数.
+ * <p>
+ * 战斗按固定的到达速率{@code rate}(每秒场数)开始, 第{@code i}场战斗的到达时间为{@code i / rate}秒.
+ * 默认速率为{@code battles / (turns * think)}, 即在一场战斗的时长内全部到达, 最后一场到达时第一场刚好结束,
+ * 同时进行的战斗数最多接近{@code battles}. {@code rate=0}表示所有战斗同时到达.
+ * 结束时打印实际同时进行的最大战斗数, 用来确认战斗确实是重叠的.
+ * <p>
+ * 回合按截止时间推进, 第{@code k}回合应在战斗到达后{@code k * think}毫秒处理, 回合延迟为处理完成的时间减去截止时间,
+ * 包含了排队, 调度等待与计算的耗时. 已经过了截止时间的回合不再等待, 所以处理不过来时延迟会持续增长,
+ * 而不会因为负载生成器被拖慢而低估延迟; 提交落后于到达时间时, 落后的时间同样计入延迟.
+ * 结束时打印吞吐量以及回合延迟与战斗总时长的 p50, p99, p999 和最大值.
+ * <p>
+ * 随机数的来源({@code random}参数):
+ * <ul>
+ *     <li>{@code THREAD_LOCAL_RANDOM}: 调用{@link Tools}中不带生成器的方法, 即每次使用{@link ThreadLocalRandom#current()}.
+ *     虚拟线程与平台线程一样在{@link Thread}对象中保存自己的种子, 不需要额外的分配</li>
+ *     <li>{@code PER_BATTLE}: 每场战斗持有一个从根生成器{@link SplittableRandom#split()}得到的生成器,
+ *     与线程无关, 结果可以按种子复现</li>
+ *     <li>{@code THREAD_LOCAL}: 通过{@link ThreadLocal}获取生成器. 在平台线程池中相当于每个载体线程一个生成器,
+ *     在虚拟线程中则是每场战斗一个, 并且需要一次{@code ThreadLocal}查找和初始化</li>
+ *     <li>{@code STRIPED}: 固定数量({@code stripes}个, 默认为处理器数的4倍, 向上取整到2的幂)的生成器,
+ *     按当前线程 ID 的哈希选择, 每回合对选中的生成器加锁. 生成器的数量与虚拟线程的数量无关,
+ *     作为每个载体线程一个生成器的替代, 虚拟线程不能得知自己的载体线程</li>
+ * </ul>
+ * 参数为{@code key=value}的形式,
+ * 例如{@code battles=100000 turns=20 think=100 rate=50000 executor=virtual threads=256 random=all}.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class BattleServerHarness
+{
+    /**随机数的来源*/
+    enum RandomMode
+    {
+        THREAD_LOCAL_RANDOM, PER_BATTLE, THREAD_LOCAL, STRIPED
+    }
+
+    private static final ThreadLocal<RandomGenerator> THREAD_RANDOM =
+            ThreadLocal.withInitial(() -> RandomGenerator.of("L64X128MixRandom"));
+
+    private final int battles;
+    private final int turns;
+    private final long thinkNanos;
+    private final int threads;
+    /**相邻两场战斗到达的间隔, 为0时同时到达*/
+    private final double arrivalNanos;
+    /**{@link RandomMode#STRIPED}使用的生成器, 数量为2的幂*/
+    private final RandomGenerator[] stripes;
+    /**创建虚拟线程执行器的方法, 不可用时为null*/
+    private final Method virtualExecutorFactory;
+    private final long seed;
+
+    private final LongAdder totalDamage = new LongAdder();
+    private final AtomicInteger activeBattles = new AtomicInteger();
+    private final LongAccumulator peakBattles = new LongAccumulator(Math::max, 0);
+    /**第battle场战斗第turn回合的延迟位于下标battle * turns + turn*/
+    private long[] turnLatency;
+    private long[] battleDuration;
+
+    private BattleServerHarness(final Map<String, String> options)
+    {
+        this.battles = Integer.parseInt(options.getOrDefault("battles", "100000"));
+        this.turns = Integer.parseInt(options.getOrDefault("turns", "20"));
+        this.thinkNanos = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(options.getOrDefault("think", "100")));
+        this.threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 64)));
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        final double rate = options.containsKey("rate") ? Double.parseDouble(options.get("rate"))
+                : thinkNanos == 0 ? 0.0 : battles * 1e9 / ((double) turns * thinkNanos);
+        final int stripeCount = Integer.parseInt(options.getOrDefault("stripes",
+                String.valueOf(Runtime.getRuntime().availableProcessors() * 4)));
+        if (battles <= 0 || turns <= 0 || thinkNanos < 0 || threads <= 0 || !(rate >= 0.0) || stripeCount <= 0
+                || (long) battles * turns > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("错误参数:" + options);
+        }
+        this.arrivalNanos = rate == 0.0 ? 0.0 : 1e9 / rate;
+        final var factory = RandomGeneratorFactory.<RandomGenerator>of("L64X128MixRandom");
+        //向上取整到2的幂, 用位与选择分片
+        this.stripes = new RandomGenerator[stripeCount == 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1];
+        for (int i = 0; i < stripes.length; i++)
+        {
+            stripes[i] = factory.create(seed + i);
+        }
+        this.virtualExecutorFactory = "virtual".equals(options.getOrDefault("executor", "virtual"))
+                ? findVirtualExecutorFactory() : null;
+    }
+
+    public static void main(final String[] args) throws InterruptedException
+    {
+        final var options = new HashMap<String, String>();
+        for (final var arg : args)
+        {
+            final int separator = arg.indexOf('=');
+            if (separator <= 0)
+            {
+                throw new IllegalArgumentException("错误参数:" + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        final var harness = new BattleServerHarness(options);
+        final var random = options.getOrDefault("random", "all");
+        final var modes = "all".equals(random) ? RandomMode.values()
+                : new RandomMode[]{RandomMode.valueOf(random.toUpperCase(Locale.ROOT))};
+
+        //第一轮只用于预热, 不打印结果
+        harness.run(modes[0], false);
+        for (final var mode : modes)
+        {
+            harness.run(mode, true);
+        }
+    }
+
+    private void run(final RandomMode mode, final boolean report) throws InterruptedException
+    {
+        turnLatency = new long[battles * turns];
+        battleDuration = new long[battles];
+        totalDamage.reset();
+        activeBattles.set(0);
+        peakBattles.reset();
+        //属性与PER_BATTLE的生成器分别来自两个根生成器, split()不会改变属性的随机数序列
+        final var statsRoot = new SplittableRandom(seed);
+        final var root = statsRoot.split();
+        final var done = new CountDownLatch(battles);
+
+        final var executor = newExecutor();
+        final long start = System.nanoTime();
+        try
+        {
+            for (int battle = 0; battle < battles; battle++)
+            {
+                final int id = battle;
+                final RandomGenerator battleRandom = mode == RandomMode.PER_BATTLE ? root.split() : null;
+                //属性只由statsRoot确定, 四种模式下每场战斗的双方相同
+                final var stats = new SplittableRandom(statsRoot.nextLong());
+                final var first = Fighter.random(stats);
+                final var second = Fighter.random(stats);
+                //按到达时间提交, 不等待已经过了到达时间的战斗, 延迟从到达时间开始计算
+                final long arrival = start + Math.round(battle * arrivalNanos);
+                final long wait = arrival - System.nanoTime();
+                if (wait > 0)
+                {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                executor.execute(() ->
+                {
+                    try
+                    {
+                        fight(id, arrival, mode, battleRandom, first, second);
+                    }
+                    finally
+                    {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+        final long elapsed = System.nanoTime() - start;
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        if (report)
+        {
+            report(mode, elapsed);
+        }
+    }
+
+    /**
+     * 进行一场战斗, 从到达的时间开始计时, 平台线程池中排队等待的时间也计入延迟.
+     */
+    private void fight(final int battle, final long start, final RandomMode mode,
+                       final RandomGenerator battleRandom, final Fighter first, final Fighter second)
+    {
+        peakBattles.accumulate(activeBattles.incrementAndGet());
+        long damage = 0;
+        for (int turn = 0; turn < turns; turn++)
+        {
+            final long deadline = start + turn * thinkNanos;
+            final long wait = deadline - System.nanoTime();
+            if (wait > 0)
+            {
+                try
+                {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                catch (final InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                    activeBattles.decrementAndGet();
+                    return;
+                }
+            }
+
+            if (mode == RandomMode.STRIPED)
+            {
+                final var random = stripe();
+                //临界区中没有阻塞操作, 虚拟线程持有监视器时固定在载体线程上不会影响其它战斗
+                synchronized (random)
+                {
+                    damage += swing(random, first, second);
+                    damage += swing(random, second, first);
+                }
+            }
+            else
+            {
+                final var random = switch (mode)
+                {
+                    case PER_BATTLE -> battleRandom;
+                    case THREAD_LOCAL -> THREAD_RANDOM.get();
+                    default -> null;
+                };
+                damage += swing(random, first, second);
+                damage += swing(random, second, first);
+            }
+            turnLatency[battle * turns + turn] = System.nanoTime() - deadline;
+        }
+        battleDuration[battle] = System.nanoTime() - start;
+        totalDamage.add(damage);
+        activeBattles.decrementAndGet();
+    }
+
+    /**
+     * 按当前线程 ID 的哈希选择{@link RandomMode#STRIPED}的生成器. 虚拟线程的 ID 是连续分配的, 先打散再取高位.
+     */
+    private RandomGenerator stripe()
+    {
+        @SuppressWarnings("deprecation")
+        final long id = Thread.currentThread().getId();
+        return stripes[(int) ((id * 0x9E37_79B9_7F4A_7C15L) >>> 32) & (stripes.length - 1)];
+    }
+
+    /**
+     * 一次攻击, {@code random}为null时使用{@link Tools}中不带生成器的方法.
+     */
+    private static int swing(final RandomGenerator random, final Fighter attacker, final Fighter victim)
+    {
+        final double hitRate = Value.attackHitRate(attacker.hit, victim.evade);
+        final boolean hit = random == null ? Tools.randomBooleanValue(hitRate)
+                : Tools.randomBooleanValue(random, hitRate);
+        if (!hit)
+        {
+            return 0;
+        }
+        final double critChance = Value.attackerCritChance(attacker.crit, victim.resistance);
+        final boolean crit = random == null ? Tools.randomBooleanValue(critChance)
+                : Tools.randomBooleanValue(random, critChance);
+        final double hurt = Value.attackerPhysicalDamage(attacker.physicalAttack, victim.armor);
+        final int damage = Value.criticalDamage(hurt, crit ? attacker.critsEffect : 1.0);
+        return random == null ? Tools.floatingNumber(damage, attacker.floatingIntRange)
+                : Tools.floatingNumber(random, damage, attacker.floatingIntRange);
+    }
+
+    private Method findVirtualExecutorFactory()
+    {
+        try
+        {
+            final var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            //JDK 19, 20 未开启预览功能时调用会抛出UnsupportedOperationException
+            ((ExecutorService) factory.invoke(null)).shutdown();
+            return factory;
+        }
+        catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e)
+        {
+            System.out.println("虚拟线程不可用(" + e + "), 使用" + threads + "个平台线程");
+            return null;
+        }
+    }
+
+    private ExecutorService newExecutor()
+    {
+        if (virtualExecutorFactory != null)
+        {
+            try
+            {
+                return (ExecutorService) virtualExecutorFactory.invoke(null);
+            }
+            catch (final IllegalAccessException | InvocationTargetException e)
+            {
+                throw new IllegalStateException(e);
+            }
+        }
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    private void report(final RandomMode mode, final long elapsed)
+    {
+        final double seconds = elapsed / 1e9;
+        System.out.printf(Locale.ROOT, "%s executor=%s battles=%d turns=%d think=%dms rate=%s%s%n", mode,
+                virtualExecutorFactory != null ? "virtual" : "platform(" + threads + ")", battles, turns,
+                TimeUnit.NANOSECONDS.toMillis(thinkNanos),
+                arrivalNanos == 0.0 ? "burst" : String.format(Locale.ROOT, "%.0f/s", 1e9 / arrivalNanos),
+                mode == RandomMode.STRIPED ? " stripes=" + stripes.length : "");
+        System.out.printf(Locale.ROOT, "  elapsed %.3f s, %.0f battles/s, %.0f turns/s, peak concurrent battles %d,"
+                        + " total damage %d%n", seconds, battles / seconds, battles * (double) turns / seconds,
+                peakBattles.get(), totalDamage.sum());
+        printPercentiles("  turn latency  ", turnLatency);
+        printPercentiles("  battle length ", battleDuration);
+    }
+
+    private static void printPercentiles(final String label, final long[] nanos)
+    {
+        final var sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf(Locale.ROOT, "%sp50 %.1f us, p99 %.1f us, p999 %.1f us, max %.1f us%n", label,
+                percentile(sorted, 0.5) / 1e3, percentile(sorted, 0.99) / 1e3, percentile(sorted, 0.999) / 1e3,
+                sorted[sorted.length - 1] / 1e3);
+    }
+
+    private static long percentile(final long[] sorted, final double p)
+    {
+        return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    /**
+     * 一方的属性.
+     */
+    private record Fighter(int hit, int evade, int crit, int resistance, double physicalAttack, double armor,
+                           double critsEffect, int floatingIntRange)
+    {
+        private static Fighter random(final RandomGenerator random)
+        {
+            return new Fighter(50 + random.nextInt(100), 50 + random.nextInt(100), random.nextInt(100),
+                    random.nextInt(100), 100 + random.nextDouble() * 900, random.nextDouble() * 500,
+                    1.5 + random.nextDouble(), random.nextInt(50));
+        }
+    }
+}
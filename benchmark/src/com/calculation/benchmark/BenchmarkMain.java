@@ -0,0 +1,39 @@
+package com.calculation.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 运行全部基准测试的入口.
+ * <p>
+ * 每个基准测试先单线程运行一次, 再用与处理器数量相同的线程运行一次, 并且都开启{@code -prof gc}统计内存分配.
+ * 第一个参数可以指定要运行的基准测试的正则表达式, 例如{@code BatchBenchmark}. 也可以直接使用
+ * {@code org.openjdk.jmh.Main}并自行传入{@code -t}与{@code -prof}等参数.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class BenchmarkMain
+{
+    private BenchmarkMain()
+    {
+        throw new AssertionError();
+    }
+
+    public static void main(final String[] args) throws RunnerException
+    {
+        final var include = args.length > 0 ? args[0] : BenchmarkMain.class.getPackageName() + ".*";
+        final int[] threadCounts = {1, Runtime.getRuntime().availableProcessors()};
+        for (final int threads : threadCounts)
+        {
+            new Runner(new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build()).run();
+        }
+    }
+}
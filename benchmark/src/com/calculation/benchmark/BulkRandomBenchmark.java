@@ -0,0 +1,112 @@
+package com.calculation.benchmark;
+
+import com.calculation.tools.CalculationTools.Tools;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Tools}中批量随机方法与逐个调用的对比, 结果为每次处理{@code size}个元素的耗时.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BulkRandomBenchmark
+{
+    @Param({"1024", "65536"})
+    public int size;
+
+    @Param({"0.05", "0.5"})
+    public double probability;
+
+    private long[] bits;
+    private int[] damage;
+
+    @Setup
+    public void setUp()
+    {
+        bits = new long[(size + 63) >>> 6];
+        damage = new int[size];
+        Arrays.fill(damage, 1000);
+    }
+
+    @Benchmark
+    public long[] randomBooleanValueLoop()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            if (Tools.randomBooleanValue(probability))
+            {
+                bits[i >>> 6] |= 1L << i;
+            }
+            else
+            {
+                bits[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return bits;
+    }
+
+    @Benchmark
+    public long[] randomBooleanValues()
+    {
+        Tools.randomBooleanValues(ThreadLocalRandom.current(), probability, bits, size);
+        return bits;
+    }
+
+    @Benchmark
+    public int randomTrueCountLoop()
+    {
+        int count = 0;
+        for (int i = 0; i < size; i++)
+        {
+            if (Tools.randomBooleanValue(probability))
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int randomTrueCount()
+    {
+        return Tools.randomTrueCount(size, probability);
+    }
+
+    @Benchmark
+    public int[] floatingNumberLoop()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            damage[i] = Tools.floatingNumber(damage[i], 100);
+        }
+        return damage;
+    }
+
+    @Benchmark
+    public int[] floatingNumbers()
+    {
+        Tools.floatingNumbers(damage, 0, size, 100, false);
+        return damage;
+    }
+}
@@ -0,0 +1,68 @@
+package com.calculation.benchmark;
+
+import java.util.Random;
+
+/**
+ * 基准测试输入数据的分布.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public enum InputPattern
+{
+    /**所有输入都落在正常范围内, 分支总是走同一边*/
+    PREDICTABLE,
+    /**约一半的输入会触发边界处理, 并且随机分布, 分支预测基本失效*/
+    UNPREDICTABLE;
+
+    /**每组输入的长度, 必须是2的幂*/
+    static final int SIZE = 1 << 12;
+    static final int MASK = SIZE - 1;
+
+    /**
+     * 生成属性值, 正常范围为{@code 1 ~ 4095}, 触发边界处理时为{@code -10 ~ 0}.
+     */
+    int[] stats(final Random random)
+    {
+        final var values = new int[SIZE];
+        for (int i = 0; i < SIZE; i++)
+        {
+            values[i] = triggersBoundary(random) ? -random.nextInt(11) : 1 + random.nextInt(4095);
+        }
+        return values;
+    }
+
+    /**
+     * 生成概率值, 正常范围为{@code [0, 0.9)}, 触发边界处理时为{@code 1.0}或{@code -0.5}.
+     */
+    double[] probabilities(final Random random)
+    {
+        final var values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++)
+        {
+            values[i] = triggersBoundary(random) ? (random.nextBoolean() ? 1.0 : -0.5) : random.nextDouble() * 0.9;
+        }
+        return values;
+    }
+
+    /**
+     * 生成攻击与护甲, 正常范围为{@code [1, 1000)}; 触发边界处理时护甲为攻击的相反数, 用来触发NaN保护.
+     */
+    double[][] attackAndArmor(final Random random)
+    {
+        final var attack = new double[SIZE];
+        final var armor = new double[SIZE];
+        for (int i = 0; i < SIZE; i++)
+        {
+            attack[i] = 1 + random.nextDouble() * 999;
+            armor[i] = triggersBoundary(random) ? -attack[i] : 1 + random.nextDouble() * 999;
+        }
+        return new double[][]{attack, armor};
+    }
+
+    private boolean triggersBoundary(final Random random)
+    {
+        return this == UNPREDICTABLE && random.nextBoolean();
+    }
+}
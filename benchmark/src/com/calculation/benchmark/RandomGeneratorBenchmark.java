@@ -0,0 +1,100 @@
+package com.calculation.benchmark;
+
+import com.calculation.tools.CalculationTools.Tools;
+import com.calculation.tools.CombatResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * 比较 JDK 17 中各种随机数算法在{@link Tools}常见调用方式下的耗时.
+ * <p>
+ * {@code ThreadLocalRandom}每次调用都通过{@link ThreadLocalRandom#current()}获取, 与不带生成器的方法相同;
+ * 其余算法每个线程持有一个自己的实例.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class RandomGeneratorBenchmark
+{
+    private static final String THREAD_LOCAL_RANDOM = "ThreadLocalRandom";
+
+    @Param({THREAD_LOCAL_RANDOM, "SplittableRandom", "Xoroshiro128PlusPlus", "Xoshiro256PlusPlus",
+            "L32X64MixRandom", "L64X128MixRandom", "L64X256MixRandom", "L128X256MixRandom", "Random"})
+    public String algorithm;
+
+    private RandomGenerator random;
+    private int number;
+
+    @Setup
+    public void setUp()
+    {
+        random = THREAD_LOCAL_RANDOM.equals(algorithm) ? null : RandomGenerator.of(algorithm);
+    }
+
+    private RandomGenerator random()
+    {
+        return random == null ? ThreadLocalRandom.current() : random;
+    }
+
+    @Benchmark
+    public boolean randomBooleanValue()
+    {
+        return Tools.randomBooleanValue(random(), 0.35);
+    }
+
+    @Benchmark
+    public int floatingNumberByRange()
+    {
+        return Tools.floatingNumber(random(), 1000 + (number++ & 1023), 100);
+    }
+
+    @Benchmark
+    public int floatingNumberByPercentage()
+    {
+        return Tools.floatingNumber(random(), 1000.0 + (number++ & 1023), 0.1);
+    }
+
+    /**
+     * 一次完整的攻击: 判定命中, 判定暴击, 再对伤害做浮动.
+     */
+    @Benchmark
+    public int swing()
+    {
+        final var generator = random();
+        if (!Tools.randomBooleanValue(generator, 0.8))
+        {
+            return 0;
+        }
+        final int damage = Tools.randomBooleanValue(generator, 0.25) ? 1500 : 1000;
+        return Tools.floatingNumber(generator, damage, 100);
+    }
+
+    /**
+     * 与{@link #swing()}相同的攻击, 用{@link CombatResolver}一次判定.
+     */
+    @Benchmark
+    public int swingWithResolver()
+    {
+        return CombatResolver.damage(CombatResolver.resolve(random(), 0.8, 0.25, 100), 1000, 1.5);
+    }
+}
@@ -0,0 +1,116 @@
+package com.calculation.benchmark;
+
+import com.calculation.tools.KillAnalytics;
+import com.calculation.tools.StatBlock;
+import com.calculation.tools.StatPairCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.calculation.benchmark.InputPattern.MASK;
+import static com.calculation.benchmark.InputPattern.SIZE;
+
+/**
+ * {@link StatPairCache}与直接调用{@link KillAnalytics}的对比.
+ * <p>
+ * 输入从{@code pairs}组不同的属性中抽取, 每次都创建新的{@link StatBlock}, 所以{@link StatBlock#against(StatBlock)}
+ * 的缓存不起作用. 缓存的容量固定为4096, 所有线程共用一个缓存. 结束时打印命中, 未命中, 淘汰与拒绝写入的次数.
+ *
+ * @author 留恋千年
+ * @version 1.1.0
+ * @since 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class StatPairCacheBenchmark
+{
+    private static final double KILL_PROBABILITY = 0.9;
+
+    @Param({"64", "4096", "65536"})
+    public int pairs;
+
+    private StatBlock[] attackers;
+    private StatBlock[] victims;
+    private StatPairCache cache;
+
+    @Setup
+    public void setUp()
+    {
+        final var random = new Random(42);
+        final var attackerPool = new StatBlock[pairs];
+        final var victimPool = new StatBlock[pairs];
+        for (int i = 0; i < pairs; i++)
+        {
+            attackerPool[i] = StatBlock.builder().hit(1 + random.nextInt(4095)).crit(random.nextInt(4096))
+                    .physicalAttack(1 + random.nextInt(4095)).critsEffect(1.5 + random.nextInt(10) / 10.0)
+                    .floatingIntRange(random.nextInt(100)).build();
+            victimPool[i] = StatBlock.builder().hp(1 + random.nextInt(100_000)).evade(random.nextInt(4096))
+                    .resistance(random.nextInt(4096)).armor(random.nextInt(4096))
+                    .damageReduction(random.nextInt(50) / 100.0).build();
+        }
+        attackers = new StatBlock[SIZE];
+        victims = new StatBlock[SIZE];
+        for (int i = 0; i < SIZE; i++)
+        {
+            final int pair = random.nextInt(pairs);
+            attackers[i] = copy(attackerPool[pair]);
+            victims[i] = copy(victimPool[pair]);
+        }
+        cache = new StatPairCache(4096);
+    }
+
+    private static StatBlock copy(final StatBlock block)
+    {
+        return StatBlock.builder().hp(block.hp()).hit(block.hit()).evade(block.evade()).crit(block.crit())
+                .resistance(block.resistance()).physicalAttack(block.physicalAttack()).armor(block.armor())
+                .damageReduction(block.damageReduction()).evadeChance(block.evadeChance())
+                .critsEffect(block.critsEffect()).floatingIntRange(block.floatingIntRange()).build();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        System.out.println(cache);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor
+    {
+        private int cursor;
+
+        private int next()
+        {
+            return cursor = (cursor + 1) & MASK;
+        }
+    }
+
+    @Benchmark
+    public int swingsToKill(final Cursor cursor)
+    {
+        final int i = cursor.next();
+        return KillAnalytics.compute(attackers[i], victims[i]).swingsToKill(KILL_PROBABILITY);
+    }
+
+    @Benchmark
+    public int swingsToKillCached(final Cursor cursor)
+    {
+        final int i = cursor.next();
+        return cache.swingsToKill(attackers[i], victims[i], KILL_PROBABILITY);
+    }
+}
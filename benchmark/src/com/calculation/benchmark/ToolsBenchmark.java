@@ -0,0 +1,105 @@
+package com.calculation.benchmark;
+
+import com.calculation.tools.CalculationTools.Tools;
+import com.calculation.tools.CalculationTools.Tools.SpecifiedDirection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.calculation.benchmark.InputPattern.MASK;
+
+/**
+ * {@link Tools}中随机方法的基准测试.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ToolsBenchmark
+{
+    @Param
+    public InputPattern pattern;
+
+    private double[] probabilities;
+    private int[] numbers;
+    private SpecifiedDirection[] directions;
+    private int cursor;
+
+    @Setup
+    public void setUp()
+    {
+        final var random = new Random(42);
+        probabilities = pattern.probabilities(random);
+        numbers = new int[InputPattern.SIZE];
+        directions = new SpecifiedDirection[InputPattern.SIZE];
+        for (int i = 0; i < InputPattern.SIZE; i++)
+        {
+            numbers[i] = 1 + random.nextInt(10_000);
+            directions[i] = pattern == InputPattern.PREDICTABLE ? SpecifiedDirection.ONLY_INCREASE
+                    : SpecifiedDirection.values()[random.nextInt(2)];
+        }
+    }
+
+    private int next()
+    {
+        return cursor = (cursor + 1) & MASK;
+    }
+
+    @Benchmark
+    public boolean randomBooleanValue()
+    {
+        return Tools.randomBooleanValue(probabilities[next()]);
+    }
+
+    @Benchmark
+    public int floatingNumberByRange()
+    {
+        final int i = next();
+        return Tools.floatingNumber(numbers[i], numbers[i] >>> 3);
+    }
+
+    @Benchmark
+    public int floatingNumberByRangeWithDirection()
+    {
+        final int i = next();
+        return Tools.floatingNumber(numbers[i], numbers[i] >>> 3, directions[i]);
+    }
+
+    @Benchmark
+    public int floatingNumberByPercentage()
+    {
+        final int i = next();
+        return Tools.floatingNumber(numbers[i], 0.125);
+    }
+
+    @Benchmark
+    public int floatingNumberByPercentageWithDirection()
+    {
+        final int i = next();
+        return Tools.floatingNumber(numbers[i], 0.125, directions[i]);
+    }
+
+    @Benchmark
+    public int floatingNumberOfDouble()
+    {
+        final int i = next();
+        return Tools.floatingNumber((double) numbers[i], 0.125);
+    }
+}
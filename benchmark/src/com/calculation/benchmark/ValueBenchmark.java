@@ -0,0 +1,148 @@
+package com.calculation.benchmark;
+
+import com.calculation.tools.CalculationTools.FixedValue;
+import com.calculation.tools.CalculationTools.Value;
+import com.calculation.tools.RatioTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.calculation.benchmark.InputPattern.MASK;
+
+/**
+ * {@link Value}与{@link FixedValue}中标量方法的基准测试.
+ * <p>
+ * 每次调用从预先生成的输入中取下一组数据, 输入的分布由{@link InputPattern}决定.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ValueBenchmark
+{
+    @Param
+    public InputPattern pattern;
+
+    private int[] attackerStats;
+    private int[] victimStats;
+    private double[] attack;
+    private double[] armor;
+    private double[] damageReduction;
+    private double[] evadeChance;
+    private RatioTable table;
+    private int cursor;
+
+    @Setup
+    public void setUp()
+    {
+        final var random = new Random(42);
+        attackerStats = pattern.stats(random);
+        victimStats = pattern.stats(random);
+        final var attackAndArmor = pattern.attackAndArmor(random);
+        attack = attackAndArmor[0];
+        armor = attackAndArmor[1];
+        damageReduction = pattern.probabilities(random);
+        evadeChance = pattern.probabilities(random);
+        table = new RatioTable(4095);
+    }
+
+    private int next()
+    {
+        return cursor = (cursor + 1) & MASK;
+    }
+
+    @Benchmark
+    public double attackHitRate()
+    {
+        final int i = next();
+        return Value.attackHitRate(attackerStats[i], victimStats[i]);
+    }
+
+    @Benchmark
+    public double attackHitRateWithTable()
+    {
+        final int i = next();
+        return Value.attackHitRate(table, attackerStats[i], victimStats[i]);
+    }
+
+    @Benchmark
+    public double attackerCritChance()
+    {
+        final int i = next();
+        return Value.attackerCritChance(attackerStats[i], victimStats[i]);
+    }
+
+    @Benchmark
+    public double attackerCritChanceWithTable()
+    {
+        final int i = next();
+        return Value.attackerCritChance(table, attackerStats[i], victimStats[i]);
+    }
+
+    @Benchmark
+    public double attackerPhysicalDamage()
+    {
+        final int i = next();
+        return Value.attackerPhysicalDamage(attack[i], armor[i]);
+    }
+
+    @Benchmark
+    public double victimEffectiveHp()
+    {
+        final int i = next();
+        return Value.victimEffectiveHp(victimStats[i], damageReduction[i], evadeChance[i]);
+    }
+
+    @Benchmark
+    public int criticalDamage()
+    {
+        final int i = next();
+        return Value.criticalDamage(attack[i], 1.5 + damageReduction[i]);
+    }
+
+    @Benchmark
+    public double expectedSwingDamage()
+    {
+        final int i = next();
+        return Value.expectedSwingDamage(attackerStats[i], victimStats[i], victimStats[i], attackerStats[i],
+                attack[i], armor[i], 1.5);
+    }
+
+    @Benchmark
+    public int fixedAttackHitRate()
+    {
+        final int i = next();
+        return FixedValue.attackHitRate(attackerStats[i], victimStats[i]);
+    }
+
+    @Benchmark
+    public long fixedAttackerPhysicalDamage()
+    {
+        final int i = next();
+        return FixedValue.attackerPhysicalDamage(attackerStats[i], victimStats[i]);
+    }
+
+    @Benchmark
+    public long fixedCriticalDamage()
+    {
+        final int i = next();
+        return FixedValue.criticalDamage(attackerStats[i] * (long) FixedValue.MILLI, 15_000);
+    }
+}
@@ -0,0 +1,190 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.random.RandomGenerator;
+
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * 一个攻击者同时攻击大量被攻击者(范围技能)时的批量计算.
+ * <p>
+ * 攻击者一方的数值在整个批次中不变, 只在循环外读取一次, 循环中只读取被攻击者的列:
+ * 闪避, 暴击抗性与护甲值. 每个元素的命中几率, 暴击概率与伤害分别与{@link Value#attackHitRate(int, int)},
+ * {@link Value#attackerCritChance(int, int)}和{@link Value#attackerPhysicalDamage(double, double)}的结果逐位相同.
+ * {@link #resolve(RandomGenerator, StatBlock, int[], int[], double[], int[], int[], int, int)}在此基础上用
+ * {@link CombatResolver}判定每个被攻击者受到的攻击, 与{@link Simulation}一样, 小于0的伤害按0计算,
+ * 并提交{@link CombatEvents}中的 JFR 事件.
+ * <p>
+ * 与{@link Value}中的批量方法一样, {@code jdk.incubator.vector}模块存在时
+ * {@link #rates(StatBlock, int[], int[], double[], double[], double[], double[], int, int)}使用向量实现,
+ * 攻击者的数值广播到所有通道, 对大量被攻击者的计算速度接近内存带宽的上限.
+ * <p>
+ * 没有启用{@link CombatEvents}中的事件时, 所有方法都不会分配任何对象;
+ * 启用事件后{@link #resolve(RandomGenerator, StatBlock, int[], int[], double[], int[], int[], int, int)}
+ * 每次提交事件都会创建一个事件对象.
+ *
+ * @author 留恋千年
+ * @version 1.1.0
+ * @since 2026-10-16
+ */
+public final class AreaResolver
+{
+    private AreaResolver()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 计算{@code attacker}对每个被攻击者的命中几率, 暴击概率与伤害.
+     *
+     * @param attacker         攻击者
+     * @param victimEvade      被攻击者的闪避
+     * @param victimResistance 被攻击者的暴击抗性
+     * @param victimArmor      被攻击者的护甲值
+     * @param hitRate          存放命中几率的数组
+     * @param critChance       存放暴击概率的数组
+     * @param damage           存放伤害的数组
+     * @param offset           开始计算的下标
+     * @param length           要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void rates(final StatBlock attacker, final int[] victimEvade, final int[] victimResistance,
+                             final double[] victimArmor, final double[] hitRate, final double[] critChance,
+                             final double[] damage, final int offset, final int length)
+    {
+        checkFromIndexSize(offset, length, victimEvade.length);
+        checkFromIndexSize(offset, length, victimResistance.length);
+        checkFromIndexSize(offset, length, victimArmor.length);
+        checkFromIndexSize(offset, length, hitRate.length);
+        checkFromIndexSize(offset, length, critChance.length);
+        checkFromIndexSize(offset, length, damage.length);
+
+        final int hit = attacker.hit();
+        final int crit = attacker.crit();
+        final double attack = attacker.physicalAttack();
+        int i = offset;
+        if (Value.VECTOR_ENABLED)
+        {
+            i = VectorValue.areaRates(hit, crit, attack, victimEvade, victimResistance, victimArmor, hitRate,
+                    critChance, damage, offset, length);
+        }
+        //标量实现中分支很容易预测, 直接调用标量方法比无分支的写法更快.
+        //与向量部分一样不计入CalculationMetrics, 否则计数会随向量实现是否可用而变化
+        for (final int end = offset + length; i < end; i++)
+        {
+            hitRate[i] = Value.hitRate(hit, victimEvade[i]);
+            critChance[i] = Value.critChance(crit, victimResistance[i]);
+            damage[i] = Value.physicalDamage(attack, victimArmor[i]);
+        }
+    }
+
+    /**
+     * 计算{@code attacker}对表中所有实体的命中几率, 暴击概率与伤害, 第{@code row}个元素对应表的第{@code row}行.
+     *
+     * @param attacker   攻击者
+     * @param victims    被攻击者
+     * @param hitRate    存放命中几率的数组
+     * @param critChance 存放暴击概率的数组
+     * @param damage     存放伤害的数组
+     * @throws IndexOutOfBoundsException 如果任意一个数组的长度小于{@code victims.size()}
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void rates(final StatBlock attacker, final EntityStatTable victims, final double[] hitRate,
+                             final double[] critChance, final double[] damage)
+    {
+        rates(attacker, victims.column(EntityStatTable.IntStat.EVADE),
+                victims.column(EntityStatTable.IntStat.RESISTANCE), victims.column(EntityStatTable.DoubleStat.ARMOR),
+                hitRate, critChance, damage, 0, victims.size());
+    }
+
+    /**
+     * 判定{@code attacker}对每个被攻击者的一次攻击.
+     *
+     * @param attacker         攻击者
+     * @param victimEvade      被攻击者的闪避
+     * @param victimResistance 被攻击者的暴击抗性
+     * @param victimArmor      被攻击者的护甲值
+     * @param outcomes         存放{@link CombatResolver}编码后的结果的数组
+     * @param damage           存放最终伤害的数组, 不小于0
+     * @param offset           开始计算的下标
+     * @param length           要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     * @see #resolve(RandomGenerator, StatBlock, int[], int[], double[], int[], int[], int, int)
+     */
+    public static void resolve(final StatBlock attacker, final int[] victimEvade, final int[] victimResistance,
+                               final double[] victimArmor, final int[] outcomes, final int[] damage,
+                               final int offset, final int length)
+    {
+        resolve(current(), attacker, victimEvade, victimResistance, victimArmor, outcomes, damage, offset, length);
+    }
+
+    /**
+     * 使用给定的随机数生成器判定{@code attacker}对每个被攻击者的一次攻击.
+     *
+     * @param random           随机数生成器
+     * @param attacker         攻击者
+     * @param victimEvade      被攻击者的闪避
+     * @param victimResistance 被攻击者的暴击抗性
+     * @param victimArmor      被攻击者的护甲值
+     * @param outcomes         存放{@link CombatResolver}编码后的结果的数组
+     * @param damage           存放最终伤害的数组, 不小于0
+     * @param offset           开始计算的下标
+     * @param length           要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void resolve(final RandomGenerator random, final StatBlock attacker, final int[] victimEvade,
+                               final int[] victimResistance, final double[] victimArmor, final int[] outcomes,
+                               final int[] damage, final int offset, final int length)
+    {
+        requireNonNull(random);
+        checkFromIndexSize(offset, length, victimEvade.length);
+        checkFromIndexSize(offset, length, victimResistance.length);
+        checkFromIndexSize(offset, length, victimArmor.length);
+        checkFromIndexSize(offset, length, outcomes.length);
+        checkFromIndexSize(offset, length, damage.length);
+
+        final int hit = attacker.hit();
+        final int crit = attacker.crit();
+        final double attack = attacker.physicalAttack();
+        final double critsEffect = attacker.critsEffect();
+        final int floatingIntRange = attacker.floatingIntRange();
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            final double hitRate = Value.attackHitRate(hit, victimEvade[i]);
+            final double critChance = Value.attackerCritChance(crit, victimResistance[i]);
+            final double hurt = Value.attackerPhysicalDamage(attack, victimArmor[i]);
+
+            final int outcome = CombatResolver.resolve(random, hitRate, critChance, floatingIntRange);
+            final int finalDamage = Math.max(0, CombatResolver.damage(outcome, hurt, critsEffect));
+            outcomes[i] = outcome;
+            damage[i] = finalDamage;
+            CombatEvents.swing(attacker, victimEvade[i], victimResistance[i], victimArmor[i], hitRate, critChance,
+                    outcome, finalDamage);
+        }
+    }
+
+    /**
+     * 使用给定的随机数生成器判定{@code attacker}对表中所有实体的一次攻击, 第{@code row}个元素对应表的第{@code row}行.
+     *
+     * @param random   随机数生成器
+     * @param attacker 攻击者
+     * @param victims  被攻击者
+     * @param outcomes 存放{@link CombatResolver}编码后的结果的数组
+     * @param damage   存放最终伤害的数组, 不小于0
+     * @throws IndexOutOfBoundsException 如果任意一个数组的长度小于{@code victims.size()}
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void resolve(final RandomGenerator random, final StatBlock attacker, final EntityStatTable victims,
+                               final int[] outcomes, final int[] damage)
+    {
+        resolve(random, attacker, victims.column(EntityStatTable.IntStat.EVADE),
+                victims.column(EntityStatTable.IntStat.RESISTANCE), victims.column(EntityStatTable.DoubleStat.ARMOR),
+                outcomes, damage, 0, victims.size());
+    }
+}
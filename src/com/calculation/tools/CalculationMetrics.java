@@ -0,0 +1,282 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Tools;
+import com.calculation.tools.CalculationTools.Value;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Value}与{@link Tools}热点方法的调用次数与边界分支次数.
+ * <p>
+ * 只有系统属性{@code calculation.metrics}为{@code true}时才会统计. {@link #ENABLED}是静态常量,
+ * 关闭时 JIT 会把被统计方法中的{@code if (CalculationMetrics.ENABLED)}整段删除, 不会有任何开销,
+ * 也不会创建计数器或注册 MBean.
+ * <p>
+ * 开启时每个计数器是一个{@link LongAdder}, 多个线程同时更新时分散到不同的单元, 不会争用同一个缓存行.
+ * 同时以{@value #OBJECT_NAME}注册一个 MXBean, 可以用 JConsole 等 JMX 客户端查看和清零.
+ * <p>
+ * 标量方法(包括使用{@link RatioTable}的重载)每次调用计入{@code _CALLS}与对应的边界分支计数器.
+ * 批量方法(包括{@link ParallelCalculations}中的并行版本)每次调用计入一次{@code _BATCH_CALLS},
+ * 并把元素个数计入{@code _BATCH_ELEMENTS}, 不统计每个元素的边界分支, 也不计入标量方法的计数器.
+ * 因此批量方法的计数与是否使用向量实现以及数组长度能否被向量长度整除无关.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class CalculationMetrics
+{
+    /**是否统计, 由系统属性{@code calculation.metrics}决定, 默认关闭*/
+    public static final boolean ENABLED = Boolean.getBoolean("calculation.metrics");
+    /**MXBean 的名称*/
+    public static final String OBJECT_NAME = "com.calculation.tools:type=CalculationMetrics";
+
+    /**计数器*/
+    public enum Counter
+    {
+        /**{@link Value#attackHitRate(int, int)}的调用次数*/
+        ATTACK_HIT_RATE_CALLS,
+        /**{@link Value#attackHitRate(int, int)}中{@code attackerHit <= 0}, 结果固定为1的次数*/
+        ATTACK_HIT_RATE_HIT_CLAMPED,
+        /**{@link Value#attackHitRate(int, int)}中{@code victimEvade <= 0}, 结果固定为0的次数*/
+        ATTACK_HIT_RATE_EVADE_CLAMPED,
+        /**{@link Value#attackHitRate(int[], int[], double[], int, int)}的调用次数*/
+        ATTACK_HIT_RATE_BATCH_CALLS,
+        /**{@link Value#attackHitRate(int[], int[], double[], int, int)}计算的元素个数*/
+        ATTACK_HIT_RATE_BATCH_ELEMENTS,
+        /**{@link Value#attackerCritChance(int, int)}的调用次数*/
+        CRIT_CHANCE_CALLS,
+        /**{@link Value#attackerCritChance(int, int)}中{@code attackerCrit <= 0}, 结果固定为0的次数*/
+        CRIT_CHANCE_CRIT_CLAMPED,
+        /**{@link Value#attackerCritChance(int, int)}中{@code victimResistance <= 0}, 结果固定为1的次数*/
+        CRIT_CHANCE_RESISTANCE_CLAMPED,
+        /**{@link Value#attackerCritChance(int[], int[], double[], int, int)}的调用次数*/
+        CRIT_CHANCE_BATCH_CALLS,
+        /**{@link Value#attackerCritChance(int[], int[], double[], int, int)}计算的元素个数*/
+        CRIT_CHANCE_BATCH_ELEMENTS,
+        /**{@link Value#attackerPhysicalDamage(double, double)}的调用次数*/
+        PHYSICAL_DAMAGE_CALLS,
+        /**{@link Value#attackerPhysicalDamage(double, double)}中攻击与护甲之和为0, 触发NaN保护的次数*/
+        PHYSICAL_DAMAGE_NAN_GUARD,
+        /**{@link Value#attackerPhysicalDamage(double[], double[], double[], int, int)}的调用次数*/
+        PHYSICAL_DAMAGE_BATCH_CALLS,
+        /**{@link Value#attackerPhysicalDamage(double[], double[], double[], int, int)}计算的元素个数*/
+        PHYSICAL_DAMAGE_BATCH_ELEMENTS,
+        /**{@link Value#victimEffectiveHp(int, double, double)}的调用次数*/
+        EFFECTIVE_HP_CALLS,
+        /**{@link Value#victimEffectiveHp(int, double, double)}中减免率或闪避概率不小于1, 结果为最大值的次数*/
+        EFFECTIVE_HP_CLAMPED,
+        /**{@link Value#victimEffectiveHp(int[], double[], double[], double[], int, int)}的调用次数*/
+        EFFECTIVE_HP_BATCH_CALLS,
+        /**{@link Value#victimEffectiveHp(int[], double[], double[], double[], int, int)}计算的元素个数*/
+        EFFECTIVE_HP_BATCH_ELEMENTS,
+        /**{@link Value#criticalDamage(double, double)}的调用次数*/
+        CRITICAL_DAMAGE_CALLS,
+        /**{@link Value#criticalDamage(double[], double[], int[], int, int)}的调用次数*/
+        CRITICAL_DAMAGE_BATCH_CALLS,
+        /**{@link Value#criticalDamage(double[], double[], int[], int, int)}计算的元素个数*/
+        CRITICAL_DAMAGE_BATCH_ELEMENTS,
+        /**{@link Value#expectedSwingDamage(int, int, int, int, double, double, double)}的调用次数*/
+        EXPECTED_SWING_DAMAGE_CALLS,
+        /**{@link Value#expectedSwingDamage(int, int, int, int, double, double, double)}中触发NaN保护的次数*/
+        EXPECTED_SWING_DAMAGE_NAN_GUARD,
+        /**{@code Value.expectedSwingDamage}批量方法的调用次数*/
+        EXPECTED_SWING_DAMAGE_BATCH_CALLS,
+        /**{@code Value.expectedSwingDamage}批量方法计算的元素个数*/
+        EXPECTED_SWING_DAMAGE_BATCH_ELEMENTS,
+        /**{@link Tools}中{@code floatingNumber}与{@code floatingNumbers}的调用次数*/
+        FLOATING_NUMBER_CALLS,
+        /**{@link Tools}中{@code floatingNumber}与{@code floatingNumbers}因为范围小于0而抛出异常的次数*/
+        FLOATING_NUMBER_RANGE_ERRORS
+    }
+
+    private static final Counter[] COUNTERS = Counter.values();
+    /**关闭时为null*/
+    private static final LongAdder[] ADDERS = ENABLED ? newAdders() : null;
+
+    static
+    {
+        if (ENABLED)
+        {
+            register();
+        }
+    }
+
+    private CalculationMetrics()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param counter 计数器
+     * @return 计数器当前的值, 关闭时总是0
+     */
+    public static long count(final Counter counter)
+    {
+        return ENABLED ? ADDERS[counter.ordinal()].sum() : 0L;
+    }
+
+    /**
+     * @return 所有计数器当前的值, 并发更新时各个值不是同一时刻的
+     */
+    public static Map<Counter, Long> snapshot()
+    {
+        final var snapshot = new EnumMap<Counter, Long>(Counter.class);
+        for (final var counter : COUNTERS)
+        {
+            snapshot.put(counter, count(counter));
+        }
+        return snapshot;
+    }
+
+    /**
+     * 把所有计数器清零.
+     */
+    public static void reset()
+    {
+        if (ENABLED)
+        {
+            for (final var adder : ADDERS)
+            {
+                adder.reset();
+            }
+        }
+    }
+
+    static void increment(final Counter counter)
+    {
+        ADDERS[counter.ordinal()].increment();
+    }
+
+    static void batch(final Counter calls, final Counter elements, final int length)
+    {
+        increment(calls);
+        ADDERS[elements.ordinal()].add(length);
+    }
+
+    static void attackHitRate(final int attackerHit, final int victimEvade)
+    {
+        increment(Counter.ATTACK_HIT_RATE_CALLS);
+        if (attackerHit <= 0)
+        {
+            increment(Counter.ATTACK_HIT_RATE_HIT_CLAMPED);
+        }
+        else if (victimEvade <= 0)
+        {
+            increment(Counter.ATTACK_HIT_RATE_EVADE_CLAMPED);
+        }
+    }
+
+    static void attackerCritChance(final int attackerCrit, final int victimResistance)
+    {
+        increment(Counter.CRIT_CHANCE_CALLS);
+        if (attackerCrit <= 0)
+        {
+            increment(Counter.CRIT_CHANCE_CRIT_CLAMPED);
+        }
+        else if (victimResistance <= 0)
+        {
+            increment(Counter.CRIT_CHANCE_RESISTANCE_CLAMPED);
+        }
+    }
+
+    static void attackerPhysicalDamage(final double attackerPhysicalAttack, final double victimArmor)
+    {
+        increment(Counter.PHYSICAL_DAMAGE_CALLS);
+        if (attackerPhysicalAttack + victimArmor == 0)
+        {
+            increment(Counter.PHYSICAL_DAMAGE_NAN_GUARD);
+        }
+    }
+
+    static void victimEffectiveHp(final double damageReduction, final double evadeChance)
+    {
+        increment(Counter.EFFECTIVE_HP_CALLS);
+        if (evadeChance >= 1.0 || damageReduction >= 1.0)
+        {
+            increment(Counter.EFFECTIVE_HP_CLAMPED);
+        }
+    }
+
+    static void expectedSwingDamage(final double attackerPhysicalAttack, final double victimArmor)
+    {
+        increment(Counter.EXPECTED_SWING_DAMAGE_CALLS);
+        if (attackerPhysicalAttack + victimArmor == 0)
+        {
+            increment(Counter.EXPECTED_SWING_DAMAGE_NAN_GUARD);
+        }
+    }
+
+    static void floatingNumber(final boolean rangeError)
+    {
+        increment(Counter.FLOATING_NUMBER_CALLS);
+        if (rangeError)
+        {
+            increment(Counter.FLOATING_NUMBER_RANGE_ERRORS);
+        }
+    }
+
+    private static LongAdder[] newAdders()
+    {
+        final var adders = new LongAdder[COUNTERS.length];
+        for (int i = 0; i < adders.length; i++)
+        {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static void register()
+    {
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Metrics(), new ObjectName(OBJECT_NAME));
+        }
+        catch (final JMException | SecurityException e)
+        {
+            //同名的 MBean 已经存在(例如被不同的类加载器加载了两次)或没有权限时, 仍然可以通过count读取
+        }
+    }
+
+    /**
+     * 通过 JMX 查看计数器.
+     */
+    public interface MetricsMXBean
+    {
+        /**
+         * @return 计数器名称与当前的值
+         */
+        Map<String, Long> getCounts();
+
+        /**
+         * 把所有计数器清零.
+         */
+        void reset();
+    }
+
+    private static final class Metrics implements MetricsMXBean
+    {
+        @Override
+        public Map<String, Long> getCounts()
+        {
+            final var counts = new LinkedHashMap<String, Long>();
+            for (final var counter : COUNTERS)
+            {
+                counts.put(counter.name(), count(counter));
+            }
+            return counts;
+        }
+
+        @Override
+        public void reset()
+        {
+            CalculationMetrics.reset();
+        }
+    }
+}
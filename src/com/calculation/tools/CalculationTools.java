@@ -1,7 +1,9 @@
 package com.calculation.tools;
 
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.BitSet;
+import java.util.random.RandomGenerator;
 
+import static java.util.Objects.checkFromIndexSize;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.ThreadLocalRandom.current;
 
@@ -28,11 +30,36 @@ public class CalculationTools
      */
     public static class Value
     {
+        /**
+         * 批量计算是否使用{@code jdk.incubator.vector}实现.
+         * <p>
+         * 只有在{@code jdk.incubator.vector}模块存在(例如使用了{@code --add-modules jdk.incubator.vector}),
+         * 且系统属性{@code calculation.vector}不为{@code false}时才会启用, 否则使用标量实现.
+         */
+        static final boolean VECTOR_ENABLED = vectorEnabled();
+
         private Value()
         {
             throw new AssertionError();
         }
 
+        private static boolean vectorEnabled()
+        {
+            if (!Boolean.parseBoolean(System.getProperty("calculation.vector", "true")))
+            {
+                return false;
+            }
+            try
+            {
+                return VectorValue.isSupported();
+            }
+            catch (LinkageError e)
+            {
+                //模块不存在或当前平台不支持向量, 回退到标量实现
+                return false;
+            }
+        }
+
         /**
          * 根据给定的数值计算攻击者的攻击命中的几率.
          *
@@ -42,6 +69,18 @@ public class CalculationTools
          * @since 2021-5-15
          */
         public static double attackHitRate(final int attackerHit, final int victimEvade)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.attackHitRate(attackerHit, victimEvade);
+            }
+            return hitRate(attackerHit, victimEvade);
+        }
+
+        /**
+         * 与{@link #attackHitRate(int, int)}相同, 但不计入{@link CalculationMetrics}.
+         */
+        static double hitRate(final int attackerHit, final int victimEvade)
         {
             if (attackerHit <= 0)
             {
@@ -63,6 +102,18 @@ public class CalculationTools
          * @since 2021-5-16
          */
         public static double attackerCritChance(final int attackerCrit, final int victimResistance)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.attackerCritChance(attackerCrit, victimResistance);
+            }
+            return critChance(attackerCrit, victimResistance);
+        }
+
+        /**
+         * 与{@link #attackerCritChance(int, int)}相同, 但不计入{@link CalculationMetrics}.
+         */
+        static double critChance(final int attackerCrit, final int victimResistance)
         {
             if (attackerCrit <= 0)
             {
@@ -75,6 +126,159 @@ public class CalculationTools
             return (double) attackerCrit / (attackerCrit + victimResistance);
         }
 
+        /**
+         * 根据给定的数值计算攻击者的攻击命中的几率, 数值在{@code table}的范围内时查表代替除法.
+         *
+         * @param table       预先计算好的比值表
+         * @param attackerHit 攻击者的命中
+         * @param victimEvade 被攻击者的闪避
+         * @return 攻击者的攻击命中的几率, 查表时有{@link RatioTable}中说明的量化误差
+         * @throws NullPointerException 如果{@code table}为null
+         * @since 2026-10-16
+         */
+        public static double attackHitRate(final RatioTable table, final int attackerHit, final int victimEvade)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.attackHitRate(attackerHit, victimEvade);
+            }
+            if (attackerHit <= 0)
+            {
+                return 1.0;
+            }
+            if (victimEvade <= 0)
+            {
+                return 0.0;
+            }
+            return table.ratio(attackerHit, victimEvade);
+        }
+
+        /**
+         * 批量计算攻击者的攻击命中的几率, 每个元素的结果与{@link #attackHitRate(int, int)}相同.
+         * <p>
+         * 所有数组都从{@code offset}开始, 共计算{@code length}个元素. 计算过程中不会分配任何对象.
+         *
+         * @param attackerHit 攻击者的命中
+         * @param victimEvade 被攻击者的闪避
+         * @param out         存放攻击命中几率的数组
+         * @param offset      开始计算的下标
+         * @param length      要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         * @since 2026-10-16
+         */
+        public static void attackHitRate(final int[] attackerHit, final int[] victimEvade, final double[] out,
+                                         final int offset, final int length)
+        {
+            checkFromIndexSize(offset, length, attackerHit.length);
+            checkFromIndexSize(offset, length, victimEvade.length);
+            checkFromIndexSize(offset, length, out.length);
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.batch(CalculationMetrics.Counter.ATTACK_HIT_RATE_BATCH_CALLS,
+                        CalculationMetrics.Counter.ATTACK_HIT_RATE_BATCH_ELEMENTS, length);
+            }
+            hitRates(attackerHit, victimEvade, out, offset, length);
+        }
+
+        /**
+         * 与{@link #attackHitRate(int[], int[], double[], int, int)}相同, 但不检查下标, 也不计入{@link CalculationMetrics}.
+         */
+        static void hitRates(final int[] attackerHit, final int[] victimEvade, final double[] out,
+                             final int offset, final int length)
+        {
+            int i = offset;
+            if (VECTOR_ENABLED)
+            {
+                i = VectorValue.attackHitRate(attackerHit, victimEvade, out, offset, length);
+            }
+            for (final int end = offset + length; i < end; i++)
+            {
+                final int hit = attackerHit[i];
+                final int evade = victimEvade[i];
+                //先算出比值再选择结果, 避免循环中出现难以预测的分支
+                final double rate = (double) hit / (hit + evade);
+                out[i] = hit <= 0 ? 1.0 : evade <= 0 ? 0.0 : rate;
+            }
+        }
+
+        /**
+         * 计算攻击者的攻击暴击的概率, 数值在{@code table}的范围内时查表代替除法.
+         *
+         * @param table            预先计算好的比值表
+         * @param attackerCrit     攻击者的暴击
+         * @param victimResistance 被攻击者的暴击抗性
+         * @return 攻击者的攻击暴击的概率, 查表时有{@link RatioTable}中说明的量化误差
+         * @throws NullPointerException 如果{@code table}为null
+         * @since 2026-10-16
+         */
+        public static double attackerCritChance(final RatioTable table, final int attackerCrit,
+                                                final int victimResistance)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.attackerCritChance(attackerCrit, victimResistance);
+            }
+            if (attackerCrit <= 0)
+            {
+                return 0.0;
+            }
+            if (victimResistance <= 0)
+            {
+                return 1.0;
+            }
+            return table.ratio(attackerCrit, victimResistance);
+        }
+
+        /**
+         * 批量计算攻击者的攻击暴击的概率, 每个元素的结果与{@link #attackerCritChance(int, int)}相同.
+         * <p>
+         * 所有数组都从{@code offset}开始, 共计算{@code length}个元素. 计算过程中不会分配任何对象.
+         *
+         * @param attackerCrit     攻击者的暴击
+         * @param victimResistance 被攻击者的暴击抗性
+         * @param out              存放攻击暴击概率的数组
+         * @param offset           开始计算的下标
+         * @param length           要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         * @since 2026-10-16
+         */
+        public static void attackerCritChance(final int[] attackerCrit, final int[] victimResistance, final double[] out,
+                                              final int offset, final int length)
+        {
+            checkFromIndexSize(offset, length, attackerCrit.length);
+            checkFromIndexSize(offset, length, victimResistance.length);
+            checkFromIndexSize(offset, length, out.length);
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.batch(CalculationMetrics.Counter.CRIT_CHANCE_BATCH_CALLS,
+                        CalculationMetrics.Counter.CRIT_CHANCE_BATCH_ELEMENTS, length);
+            }
+            critChances(attackerCrit, victimResistance, out, offset, length);
+        }
+
+        /**
+         * 与{@link #attackerCritChance(int[], int[], double[], int, int)}相同, 但不检查下标, 也不计入
+         * {@link CalculationMetrics}.
+         */
+        static void critChances(final int[] attackerCrit, final int[] victimResistance, final double[] out,
+                                final int offset, final int length)
+        {
+            int i = offset;
+            if (VECTOR_ENABLED)
+            {
+                i = VectorValue.attackerCritChance(attackerCrit, victimResistance, out, offset, length);
+            }
+            for (final int end = offset + length; i < end; i++)
+            {
+                final int crit = attackerCrit[i];
+                final int resistance = victimResistance[i];
+                final double chance = (double) crit / (crit + resistance);
+                out[i] = crit <= 0 ? 0.0 : resistance <= 0 ? 1.0 : chance;
+            }
+        }
+
         /**
          * 用给定的数值计算攻击者能对被攻击者打出的伤害.
          *
@@ -83,6 +287,18 @@ public class CalculationTools
          * @return 攻击者的伤害
          */
         public static double attackerPhysicalDamage(double attackerPhysicalAttack, double victimArmor)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.attackerPhysicalDamage(attackerPhysicalAttack, victimArmor);
+            }
+            return physicalDamage(attackerPhysicalAttack, victimArmor);
+        }
+
+        /**
+         * 与{@link #attackerPhysicalDamage(double, double)}相同, 但不计入{@link CalculationMetrics}.
+         */
+        static double physicalDamage(double attackerPhysicalAttack, double victimArmor)
         {
             var attack = attackerPhysicalAttack;
             var armor = victimArmor;
@@ -102,6 +318,52 @@ public class CalculationTools
             return attack * attack / (attack + armor);
         }
 
+        /**
+         * 批量计算攻击者能对被攻击者打出的伤害, 每个元素的结果与{@link #attackerPhysicalDamage(double, double)}相同.
+         * <p>
+         * 所有数组都从{@code offset}开始, 共计算{@code length}个元素. 计算过程中不会分配任何对象.
+         *
+         * @param attackerPhysicalAttack 攻击者的物理攻击
+         * @param victimArmor            被攻击者的护甲值
+         * @param out                    存放伤害的数组
+         * @param offset                 开始计算的下标
+         * @param length                 要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         * @since 2026-10-16
+         */
+        public static void attackerPhysicalDamage(final double[] attackerPhysicalAttack, final double[] victimArmor,
+                                                  final double[] out, final int offset, final int length)
+        {
+            checkFromIndexSize(offset, length, attackerPhysicalAttack.length);
+            checkFromIndexSize(offset, length, victimArmor.length);
+            checkFromIndexSize(offset, length, out.length);
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.batch(CalculationMetrics.Counter.PHYSICAL_DAMAGE_BATCH_CALLS,
+                        CalculationMetrics.Counter.PHYSICAL_DAMAGE_BATCH_ELEMENTS, length);
+            }
+            physicalDamages(attackerPhysicalAttack, victimArmor, out, offset, length);
+        }
+
+        /**
+         * 与{@link #attackerPhysicalDamage(double[], double[], double[], int, int)}相同, 但不检查下标, 也不计入
+         * {@link CalculationMetrics}.
+         */
+        static void physicalDamages(final double[] attackerPhysicalAttack, final double[] victimArmor,
+                                    final double[] out, final int offset, final int length)
+        {
+            int i = offset;
+            if (VECTOR_ENABLED)
+            {
+                i = VectorValue.attackerPhysicalDamage(attackerPhysicalAttack, victimArmor, out, offset, length);
+            }
+            for (final int end = offset + length; i < end; i++)
+            {
+                out[i] = physicalDamage(attackerPhysicalAttack[i], victimArmor[i]);
+            }
+        }
+
         /**
          * 计算被攻击者有效HP.
          *
@@ -111,6 +373,18 @@ public class CalculationTools
          * @return 返回被攻击者有效HP
          */
         public static double victimEffectiveHp(final int victimHp, final double damageReduction, final double evadeChance)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.victimEffectiveHp(damageReduction, evadeChance);
+            }
+            return effectiveHp(victimHp, damageReduction, evadeChance);
+        }
+
+        /**
+         * 与{@link #victimEffectiveHp(int, double, double)}相同, 但不计入{@link CalculationMetrics}.
+         */
+        static double effectiveHp(final int victimHp, final double damageReduction, final double evadeChance)
         {
             if (evadeChance >= 1.0 || damageReduction >= 1.0)
             {
@@ -119,6 +393,55 @@ public class CalculationTools
             return victimHp / (1.0 - damageReduction) / (1.0 - evadeChance);
         }
 
+        /**
+         * 批量计算被攻击者有效HP, 每个元素的结果与{@link #victimEffectiveHp(int, double, double)}相同.
+         * <p>
+         * 所有数组都从{@code offset}开始, 共计算{@code length}个元素. 计算过程中不会分配任何对象.
+         *
+         * @param victimHp        被攻击者的HP
+         * @param damageReduction 伤害减免率
+         * @param evadeChance     闪避概率
+         * @param out             存放有效HP的数组
+         * @param offset          开始计算的下标
+         * @param length          要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         * @since 2026-10-16
+         */
+        public static void victimEffectiveHp(final int[] victimHp, final double[] damageReduction,
+                                             final double[] evadeChance, final double[] out,
+                                             final int offset, final int length)
+        {
+            checkFromIndexSize(offset, length, victimHp.length);
+            checkFromIndexSize(offset, length, damageReduction.length);
+            checkFromIndexSize(offset, length, evadeChance.length);
+            checkFromIndexSize(offset, length, out.length);
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.batch(CalculationMetrics.Counter.EFFECTIVE_HP_BATCH_CALLS,
+                        CalculationMetrics.Counter.EFFECTIVE_HP_BATCH_ELEMENTS, length);
+            }
+            effectiveHps(victimHp, damageReduction, evadeChance, out, offset, length);
+        }
+
+        /**
+         * 与{@link #victimEffectiveHp(int[], double[], double[], double[], int, int)}相同, 但不检查下标, 也不计入
+         * {@link CalculationMetrics}.
+         */
+        static void effectiveHps(final int[] victimHp, final double[] damageReduction, final double[] evadeChance,
+                                 final double[] out, final int offset, final int length)
+        {
+            int i = offset;
+            if (VECTOR_ENABLED)
+            {
+                i = VectorValue.victimEffectiveHp(victimHp, damageReduction, evadeChance, out, offset, length);
+            }
+            for (final int end = offset + length; i < end; i++)
+            {
+                out[i] = effectiveHp(victimHp[i], damageReduction[i], evadeChance[i]);
+            }
+        }
+
         /**
          * 计算攻击者对被攻击者的暴击伤害.
          *
@@ -128,149 +451,1390 @@ public class CalculationTools
          */
         public static int criticalDamage(final double hurt, final double critsEffect)
         {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.increment(CalculationMetrics.Counter.CRITICAL_DAMAGE_CALLS);
+            }
             return Math.round((float) (hurt * critsEffect));
         }
-    }
 
-    /**
-     * 用来辅助计算的类.
-     *
-     * @author 留恋千年
-     * @version 1.1.0
-     * @since 2021-7-28
-     */
-    public static class Tools
-    {
-        private Tools()
-        {
-            throw new ArithmeticException();
-        }
-        public enum SpecifiedDirection
+        /**
+         * 计算没有暴击时的伤害, 结果与{@code criticalDamage(hurt, 1.0)}相同, 但不计入
+         * {@link CalculationMetrics.Counter#CRITICAL_DAMAGE_CALLS}.
+         */
+        static int normalDamage(final double hurt)
         {
-            /**仅增加*/
-            ONLY_INCREASE,
-            /**仅减少*/
-            ONLY_REDUCED
+            return Math.round((float) hurt);
         }
 
         /**
-         * 根据给定的概率返回{@code true}.
+         * 批量计算攻击者对被攻击者的暴击伤害, 每个元素的结果与{@link #criticalDamage(double, double)}相同.
+         * <p>
+         * 所有数组都从{@code offset}开始, 共计算{@code length}个元素. 计算过程中不会分配任何对象.
          *
-         * @param trueProbability 返回{@code true}的概率
-         * @return 根据给定概率返回 {@code true}
+         * @param hurt        攻击者对被攻击者可以造成的的伤害
+         * @param critsEffect 攻击者的暴击效果
+         * @param out         存放暴击伤害的数组
+         * @param offset      开始计算的下标
+         * @param length      要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         * @since 2026-10-16
          */
-        public static boolean randomBooleanValue(double trueProbability)
+        public static void criticalDamage(final double[] hurt, final double[] critsEffect, final int[] out,
+                                          final int offset, final int length)
         {
-            if (trueProbability >= 1.0)
+            checkFromIndexSize(offset, length, hurt.length);
+            checkFromIndexSize(offset, length, critsEffect.length);
+            checkFromIndexSize(offset, length, out.length);
+            if (CalculationMetrics.ENABLED)
             {
-                return true;
-            }
-            if (trueProbability <= 0.0)
-            {
-                return false;
+                CalculationMetrics.batch(CalculationMetrics.Counter.CRITICAL_DAMAGE_BATCH_CALLS,
+                        CalculationMetrics.Counter.CRITICAL_DAMAGE_BATCH_ELEMENTS, length);
             }
-            return ThreadLocalRandom.current().nextDouble() < trueProbability;
+            criticalDamages(hurt, critsEffect, out, offset, length);
         }
 
         /**
-         * 随机对数字加或减一个范围内的数.
-         *
-         * @param number 要进行加工的整数
-         * @param floatingIntRange 浮动的整数范围(非负数)
-         * @return {@code number}加或减 0(包含) ~ {@code floatingIntRange}(包含)的一个数
-         * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0
+         * 与{@link #criticalDamage(double[], double[], int[], int, int)}相同, 但不检查下标, 也不计入
+         * {@link CalculationMetrics}.
          */
-        public static int floatingNumber(final int number, final int floatingIntRange)//按整数浮动
+        static void criticalDamages(final double[] hurt, final double[] critsEffect, final int[] out,
+                                    final int offset, final int length)
         {
-            if (floatingIntRange < 0)
+            int i = offset;
+            if (VECTOR_ENABLED)
             {
-                throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+                i = VectorValue.criticalDamage(hurt, critsEffect, out, offset, length);
+            }
+            for (final int end = offset + length; i < end; i++)
+            {
+                out[i] = Math.round((float) (hurt[i] * critsEffect[i]));
             }
-
-            var randomNumber = current().nextInt(floatingIntRange + 1);
-            return current().nextBoolean() ? number + randomNumber : number - randomNumber;
         }
 
         /**
-         * 随机对数字加或减一个范围内的数.
+         * 计算攻击者每次攻击对被攻击者造成的期望伤害.
+         * <p>
+         * 结果等于依次调用{@link #attackHitRate(int, int)}, {@link #attackerCritChance(int, int)}和
+         * {@link #attackerPhysicalDamage(double, double)}后得到的
+         * {@code 命中几率 * 伤害 * (1 - 暴击概率 + 暴击概率 * critsEffect)},
+         * 各方法的边界处理也保持一致. 不同的是这里把三个比值合并成一次除法, 并且不会像
+         * {@link #criticalDamage(double, double)}那样把暴击伤害先四舍五入成整数, 因此结果与分步计算可能有极小的误差.
          *
-         * @param number 要进行加工的整数
-         * @param floatingIntRange 浮动的整数范围(非负数)
-         * @param sign 手动指定的浮动方向, 只支持(+, -)
-         * @return {@code number}加或减(根据{@code sign}的值来决定) 0(包含) ~ {@code floatingIntRange}(包含)的一个数
-         * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0或sign的值是非法的
-         * @throws NullPointerException 如果{@code sign}为null
+         * @param attackerHit            攻击者的命中
+         * @param victimEvade            被攻击者的闪避
+         * @param attackerCrit           攻击者的暴击
+         * @param victimResistance       被攻击者的暴击抗性
+         * @param attackerPhysicalAttack 攻击者的物理攻击
+         * @param victimArmor            被攻击者的护甲值
+         * @param critsEffect            攻击者的暴击效果
+         * @return 攻击者每次攻击的期望伤害
+         * @since 2026-10-16
          */
-        public static int floatingNumber(final int number, final int floatingIntRange,
-                                         final SpecifiedDirection sign)//按整数浮动
+        public static double expectedSwingDamage(final int attackerHit, final int victimEvade,
+                                                 final int attackerCrit, final int victimResistance,
+                                                 final double attackerPhysicalAttack, final double victimArmor,
+                                                 final double critsEffect)
         {
-            if (floatingIntRange < 0)
+            if (CalculationMetrics.ENABLED)
             {
-                throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+                CalculationMetrics.expectedSwingDamage(attackerPhysicalAttack, victimArmor);
             }
-            requireNonNull(sign);
-
-            var randomNumber = current().nextInt(floatingIntRange + 1);
-            return switch (sign) {
-                case ONLY_INCREASE -> number + randomNumber;
-                case ONLY_REDUCED -> number - randomNumber;
-            };
+            return swingDamage(attackerHit, victimEvade, attackerCrit, victimResistance, attackerPhysicalAttack,
+                    victimArmor, critsEffect);
         }
 
         /**
-         * 随机对数字加或减一个范围内的数.
-         *
-         * @param number 要进行加工的整数
-         * @param floatingPercentage 浮动的百分比范围
-         * @return {@code number}加或减 0(包含) ~ {@code number * floatingPercentage}(包含)的一个数
-         * @throws IllegalArgumentException 如果{@code floatingPercentage}小于0.0
+         * 与{@link #expectedSwingDamage(int, int, int, int, double, double, double)}相同, 但不计入
+         * {@link CalculationMetrics}.
          */
-        public static int floatingNumber(final int number, final double floatingPercentage)
+        static double swingDamage(final int attackerHit, final int victimEvade, final int attackerCrit,
+                                  final int victimResistance, final double attackerPhysicalAttack,
+                                  final double victimArmor, final double critsEffect)
         {
-            if (floatingPercentage < 0.0)
+            //命中几率 = hitNumerator / hitDenominator
+            final double hitNumerator = attackerHit <= 0 ? 1.0 : victimEvade <= 0 ? 0.0 : attackerHit;
+            final double hitDenominator = attackerHit <= 0 || victimEvade <= 0 ? 1.0 : attackerHit + victimEvade;
+
+            //1 - 暴击概率 + 暴击概率 * critsEffect = critNumerator / critDenominator
+            final double critNumerator = attackerCrit <= 0 ? 1.0
+                    : victimResistance <= 0 ? critsEffect : victimResistance + attackerCrit * critsEffect;
+            final double critDenominator = attackerCrit <= 0 || victimResistance <= 0 ? 1.0
+                    : attackerCrit + victimResistance;
+
+            var attack = attackerPhysicalAttack;
+            var armor = victimArmor;
+            //为了防止出现NaN错误, 与attackerPhysicalDamage的处理相同
+            if (attack + armor == 0)
             {
-                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+                if (armor <= 0)
+                {
+                    attack++;
+                }
+                else
+                {
+                    armor++;
+                }
             }
 
-            var randomNumber = current().nextInt((int) floatingPercentage * number + 1);
-            return current().nextBoolean() ? number + randomNumber : number - randomNumber;
+            return attack * attack * hitNumerator * critNumerator
+                    / ((attack + armor) * hitDenominator * critDenominator);
         }
 
         /**
-         * 随机对数字加或减一个范围内的数.
+         * 批量计算攻击者每次攻击对被攻击者造成的期望伤害, 每个元素的结果与
+         * {@link #expectedSwingDamage(int, int, int, int, double, double, double)}相同.
+         * <p>
+         * 所有数组都从{@code offset}开始, 共计算{@code length}个元素, 只遍历一遍输入并且不会分配任何对象.
          *
-         * @param number 要进行加工的整数
-         * @param floatingPercentage 浮动的百分比范围
-         * @return {@code number}加或减(根据{@code sign}的值来决定) 0(包含) ~ {@code number * floatingPercentage}(包含)的一个数
-         * @param sign 手动指定的浮动方向, 只支持(+, -)
-         * @throws IllegalArgumentException 如果{@code floatingPercentage}小于0.0或sign的值是非法的
-         * @throws NullPointerException 如果{@code sign}为null
+         * @param attackerHit            攻击者的命中
+         * @param victimEvade            被攻击者的闪避
+         * @param attackerCrit           攻击者的暴击
+         * @param victimResistance       被攻击者的暴击抗性
+         * @param attackerPhysicalAttack 攻击者的物理攻击
+         * @param victimArmor            被攻击者的护甲值
+         * @param critsEffect            攻击者的暴击效果
+         * @param out                    存放期望伤害的数组
+         * @param offset                 开始计算的下标
+         * @param length                 要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         * @since 2026-10-16
          */
-        public static int floatingNumber(final int number, final double floatingPercentage, final SpecifiedDirection sign)
+        public static void expectedSwingDamage(final int[] attackerHit, final int[] victimEvade,
+                                               final int[] attackerCrit, final int[] victimResistance,
+                                               final double[] attackerPhysicalAttack, final double[] victimArmor,
+                                               final double[] critsEffect, final double[] out,
+                                               final int offset, final int length)
         {
-            if (floatingPercentage < 0.0)
+            checkFromIndexSize(offset, length, attackerHit.length);
+            checkFromIndexSize(offset, length, victimEvade.length);
+            checkFromIndexSize(offset, length, attackerCrit.length);
+            checkFromIndexSize(offset, length, victimResistance.length);
+            checkFromIndexSize(offset, length, attackerPhysicalAttack.length);
+            checkFromIndexSize(offset, length, victimArmor.length);
+            checkFromIndexSize(offset, length, critsEffect.length);
+            checkFromIndexSize(offset, length, out.length);
+            if (CalculationMetrics.ENABLED)
             {
-                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+                CalculationMetrics.batch(CalculationMetrics.Counter.EXPECTED_SWING_DAMAGE_BATCH_CALLS,
+                        CalculationMetrics.Counter.EXPECTED_SWING_DAMAGE_BATCH_ELEMENTS, length);
             }
-            requireNonNull(sign);
-
-            var randomNumber = current().nextInt((int) floatingPercentage * number + 1);
-            return switch (sign) {
-                case ONLY_INCREASE -> number + randomNumber;
-                case ONLY_REDUCED -> number - randomNumber;
-            };
+            swingDamages(attackerHit, victimEvade, attackerCrit, victimResistance, attackerPhysicalAttack, victimArmor,
+                    critsEffect, out, offset, length);
         }
 
-        public static int floatingNumber(final double number, final double floatingPercentage)
+        /**
+         * 与{@link #expectedSwingDamage(int[], int[], int[], int[], double[], double[], double[], double[], int, int)}
+         * 相同, 但不检查下标, 也不计入{@link CalculationMetrics}.
+         */
+        static void swingDamages(final int[] attackerHit, final int[] victimEvade, final int[] attackerCrit,
+                                 final int[] victimResistance, final double[] attackerPhysicalAttack,
+                                 final double[] victimArmor, final double[] critsEffect, final double[] out,
+                                 final int offset, final int length)
         {
-            if (floatingPercentage < 0.0)
+            final int end = offset + length;
+            for (int i = offset; i < end; i++)
             {
-                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+                out[i] = swingDamage(attackerHit[i], victimEvade[i], attackerCrit[i], victimResistance[i],
+                        attackerPhysicalAttack[i], victimArmor[i], critsEffect[i]);
             }
+        }
+    }
 
-            final int max = Math.round((float) (floatingPercentage * number)) + 1;
-            var randomNumber = current().nextInt(max);
-            return (int) (current().nextBoolean() ? number + randomNumber : number - randomNumber);
+    /**
+     * 用定点整数辅助游戏数值计算的类, 与{@link Value}中的同名方法一一对应.
+     * <p>
+     * 概率与比率以万分比表示({@link #BASIS_POINTS}即100%), 伤害与HP以千分之一为单位({@link #MILLI}即1点).
+     * 所有除法的结果都四舍五入到最接近的整数, 正好在中间时向正无穷舍入, 与{@link Math#round(double)}一致.
+     * 计算过程只使用int与long运算, 不会涉及浮点数.
+     *
+     * @author 留恋千年
+     * @version 1.0.0
+     * @since 2026-10-16
+     */
+    public static class FixedValue
+    {
+        /**以万分比表示的100%*/
+        public static final int BASIS_POINTS = 10_000;
+        /**以千分之一为单位表示的1点*/
+        public static final int MILLI = 1_000;
+
+        private FixedValue()
+        {
+            throw new AssertionError();
+        }
+
+        /**
+         * 根据给定的数值计算攻击者的攻击命中的几率.
+         *
+         * @param attackerHit 攻击者的命中
+         * @param victimEvade 被攻击者的闪避
+         * @return 以万分比表示的攻击者的攻击命中的几率
+         * @see Value#attackHitRate(int, int)
+         */
+        public static int attackHitRate(final int attackerHit, final int victimEvade)
+        {
+            if (attackerHit <= 0)
+            {
+                return BASIS_POINTS;
+            }
+            if (victimEvade <= 0)
+            {
+                return 0;
+            }
+            return (int) divideRound((long) attackerHit * BASIS_POINTS, (long) attackerHit + victimEvade);
+        }
+
+        /**
+         * 计算攻击者的攻击暴击的概率.
+         *
+         * @param attackerCrit     攻击者的暴击
+         * @param victimResistance 被攻击者的暴击抗性
+         * @return 以万分比表示的攻击者的攻击暴击的概率
+         * @see Value#attackerCritChance(int, int)
+         */
+        public static int attackerCritChance(final int attackerCrit, final int victimResistance)
+        {
+            if (attackerCrit <= 0)
+            {
+                return 0;
+            }
+            if (victimResistance <= 0)
+            {
+                return BASIS_POINTS;
+            }
+            return (int) divideRound((long) attackerCrit * BASIS_POINTS, (long) attackerCrit + victimResistance);
+        }
+
+        /**
+         * 批量计算攻击者的攻击命中的几率, 每个元素的结果与{@link #attackHitRate(int, int)}相同.
+         *
+         * @param attackerHit 攻击者的命中
+         * @param victimEvade 被攻击者的闪避
+         * @param out         存放以万分比表示的命中几率的数组
+         * @param offset      开始计算的下标
+         * @param length      要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         */
+        public static void attackHitRate(final int[] attackerHit, final int[] victimEvade, final int[] out,
+                                         final int offset, final int length)
+        {
+            checkFromIndexSize(offset, length, attackerHit.length);
+            checkFromIndexSize(offset, length, victimEvade.length);
+            checkFromIndexSize(offset, length, out.length);
+
+            final int end = offset + length;
+            for (int i = offset; i < end; i++)
+            {
+                out[i] = attackHitRate(attackerHit[i], victimEvade[i]);
+            }
+        }
+
+        /**
+         * 批量计算攻击者的攻击暴击的概率, 每个元素的结果与{@link #attackerCritChance(int, int)}相同.
+         *
+         * @param attackerCrit     攻击者的暴击
+         * @param victimResistance 被攻击者的暴击抗性
+         * @param out              存放以万分比表示的暴击概率的数组
+         * @param offset           开始计算的下标
+         * @param length           要计算的元素个数
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+         * @throws NullPointerException      如果任意一个数组为null
+         */
+        public static void attackerCritChance(final int[] attackerCrit, final int[] victimResistance, final int[] out,
+                                              final int offset, final int length)
+        {
+            checkFromIndexSize(offset, length, attackerCrit.length);
+            checkFromIndexSize(offset, length, victimResistance.length);
+            checkFromIndexSize(offset, length, out.length);
+
+            final int end = offset + length;
+            for (int i = offset; i < end; i++)
+            {
+                out[i] = attackerCritChance(attackerCrit[i], victimResistance[i]);
+            }
+        }
+
+        /**
+         * 用给定的数值计算攻击者能对被攻击者打出的伤害.
+         *
+         * @param attackerPhysicalAttack 攻击者的物理攻击
+         * @param victimArmor            被攻击者的护甲值
+         * @return 以千分之一为单位的攻击者的伤害
+         * @see Value#attackerPhysicalDamage(double, double)
+         */
+        public static long attackerPhysicalDamage(final int attackerPhysicalAttack, final int victimArmor)
+        {
+            long attack = attackerPhysicalAttack;
+            long armor = victimArmor;
+
+            //为了防止出现除以0的错误, 与Value#attackerPhysicalDamage的处理相同
+            if (attack + armor == 0)
+            {
+                if (armor <= 0)
+                {
+                    attack++;
+                }
+                else
+                {
+                    armor++;
+                }
+            }
+            return divideRoundMilli(attack * attack, attack + armor);
+        }
+
+        /**
+         * 计算被攻击者有效HP.
+         *
+         * @param victimHp          被攻击者的HP
+         * @param damageReductionBp 以万分比表示的伤害减免率
+         * @param evadeChanceBp     以万分比表示的闪避概率
+         * @return 以千分之一为单位的被攻击者有效HP, 如果伤害减免率或闪避概率不小于100%,
+         * 返回{@code Integer.MAX_VALUE * MILLI}
+         * @see Value#victimEffectiveHp(int, double, double)
+         */
+        public static long victimEffectiveHp(final int victimHp, final int damageReductionBp, final int evadeChanceBp)
+        {
+            if (evadeChanceBp >= BASIS_POINTS || damageReductionBp >= BASIS_POINTS)
+            {
+                return (long) Integer.MAX_VALUE * MILLI;
+            }
+            return divideRoundMilli((long) victimHp * BASIS_POINTS * BASIS_POINTS,
+                    ((long) BASIS_POINTS - damageReductionBp) * ((long) BASIS_POINTS - evadeChanceBp));
+        }
+
+        /**
+         * 计算攻击者对被攻击者的暴击伤害.
+         *
+         * @param hurtMilli     以千分之一为单位的攻击者对被攻击者可以造成的的伤害
+         * @param critsEffectBp 以万分比表示的攻击者的暴击效果
+         * @return 以千分之一为单位的攻击者对被攻击者的暴击伤害
+         * @see Value#criticalDamage(double, double)
+         */
+        public static long criticalDamage(final long hurtMilli, final int critsEffectBp)
+        {
+            return divideRound(hurtMilli * critsEffectBp, BASIS_POINTS);
+        }
+
+        /**
+         * 把以千分之一为单位的数值四舍五入为整数点数.
+         *
+         * @param milli 以千分之一为单位的数值
+         * @return 四舍五入后的点数
+         */
+        public static long roundMilli(final long milli)
+        {
+            return divideRound(milli, MILLI);
+        }
+
+        /**
+         * 计算{@code dividend * MILLI / divisor}并四舍五入, 先算整数部分以避免乘法溢出.
+         */
+        private static long divideRoundMilli(final long dividend, final long divisor)
+        {
+            return dividend / divisor * MILLI + divideRound(dividend % divisor * MILLI, divisor);
+        }
+
+        /**
+         * 计算{@code dividend / divisor}并四舍五入, 正好在中间时向正无穷舍入.
+         */
+        private static long divideRound(long dividend, long divisor)
+        {
+            if (divisor < 0)
+            {
+                dividend = -dividend;
+                divisor = -divisor;
+            }
+            final long quotient = Math.floorDiv(dividend, divisor);
+            return Math.floorMod(dividend, divisor) * 2 >= divisor ? quotient + 1 : quotient;
+        }
+    }
+
+    /**
+     * 用来辅助计算的类.
+     * <p>
+     * 所有{@code floatingNumber}方法共用同一个取随机数的方法: 从一个64位随机数中用 Lemire 的乘法映射得到浮动值,
+     * 只有在极少数会导致偏差的情况下才会做一次取模并再取随机数. 不指定方向时浮动值在
+     * {@code [-range, range]}上均匀分布; 指定方向时在{@code [0, range]}上均匀分布.
+     *
+     * @author 留恋千年
+     * @version 1.2.0
+     * @since 2021-7-28
+     */
+    public static class Tools
+    {
+        private Tools()
+        {
+            throw new ArithmeticException();
+        }
+        public enum SpecifiedDirection
+        {
+            /**仅增加*/
+            ONLY_INCREASE,
+            /**仅减少*/
+            ONLY_REDUCED
+        }
+
+        /**
+         * 根据给定的概率返回{@code true}.
+         *
+         * @param trueProbability 返回{@code true}的概率
+         * @return 根据给定概率返回 {@code true}
+         */
+        public static boolean randomBooleanValue(double trueProbability)
+        {
+            return randomBooleanValue(current(), trueProbability);
+        }
+
+        /**
+         * 使用给定的随机数生成器, 根据给定的概率返回{@code true}.
+         *
+         * @param random          随机数生成器
+         * @param trueProbability 返回{@code true}的概率
+         * @return 根据给定概率返回 {@code true}
+         * @throws NullPointerException 如果{@code random}为null
+         * @since 2026-10-16
+         */
+        public static boolean randomBooleanValue(final RandomGenerator random, double trueProbability)
+        {
+            requireNonNull(random);
+            if (trueProbability >= 1.0)
+            {
+                return true;
+            }
+            if (trueProbability <= 0.0)
+            {
+                return false;
+            }
+            return random.nextDouble() < trueProbability;
+        }
+
+        /**
+         * 进行{@code count}次{@link #randomBooleanValue(double)}, 把结果按位存放到{@code bits}中.
+         *
+         * @param trueProbability 每次返回{@code true}的概率
+         * @param bits            存放结果的位图
+         * @param count           次数
+         * @throws IllegalArgumentException 如果{@code count}小于0或{@code bits}不足以存放{@code count}个结果
+         * @throws NullPointerException     如果{@code bits}为null
+         * @see #randomBooleanValues(RandomGenerator, double, long[], int)
+         * @since 2026-10-16
+         */
+        public static void randomBooleanValues(final double trueProbability, final long[] bits, final int count)
+        {
+            randomBooleanValues(current(), trueProbability, bits, count);
+        }
+
+        /**
+         * 使用给定的随机数生成器进行{@code count}次{@link #randomBooleanValue(RandomGenerator, double)},
+         * 把结果按位存放到{@code bits}中.
+         * <p>
+         * 第{@code i}次的结果存放在{@code bits[i >>> 6]}的第{@code i & 63}位, 与{@link BitSet#valueOf(long[])}的顺序相同.
+         * 最后一个元素中超出{@code count}的位会被清零, 之后的元素保持不变.
+         * <p>
+         * 每64次为一组同时判定: 把每一组看成64个独立的均匀随机数, 从高位起逐位与{@code trueProbability}的二进制展开比较,
+         * 每取一个64位随机数就能确定大约一半还未确定的结果. 平均每组只需要7到8个随机数, 而逐个判定需要64个;
+         * 比较到二进制展开的最后一个1就结束, 所以0.5只需要1个, 0.25与0.75只需要2个.
+         * {@code trueProbability}按63位二进制精度处理.
+         *
+         * @param random          随机数生成器
+         * @param trueProbability 每次返回{@code true}的概率
+         * @param bits            存放结果的位图
+         * @param count           次数
+         * @throws IllegalArgumentException 如果{@code count}小于0或{@code bits}不足以存放{@code count}个结果
+         * @throws NullPointerException     如果{@code random}或{@code bits}为null
+         * @since 2026-10-16
+         */
+        public static void randomBooleanValues(final RandomGenerator random, final double trueProbability,
+                                               final long[] bits, final int count)
+        {
+            requireNonNull(random);
+            final int words = checkBooleanCount(count, bits.length);
+            final long threshold = bernoulliThreshold(trueProbability);
+            for (int i = 0; i < words; i++)
+            {
+                bits[i] = bernoulliWord(random, threshold);
+            }
+            if ((count & 63) != 0)
+            {
+                bits[words - 1] &= (1L << count) - 1;
+            }
+        }
+
+        /**
+         * 进行{@code count}次{@link #randomBooleanValue(double)}, 把结果存放到{@code bits}的前{@code count}位中.
+         *
+         * @param trueProbability 每次返回{@code true}的概率
+         * @param bits            存放结果的位图
+         * @param count           次数
+         * @throws IllegalArgumentException 如果{@code count}小于0
+         * @throws NullPointerException     如果{@code bits}为null
+         * @see #randomBooleanValues(RandomGenerator, double, long[], int)
+         * @since 2026-10-16
+         */
+        public static void randomBooleanValues(final double trueProbability, final BitSet bits, final int count)
+        {
+            randomBooleanValues(current(), trueProbability, bits, count);
+        }
+
+        /**
+         * 使用给定的随机数生成器进行{@code count}次{@link #randomBooleanValue(RandomGenerator, double)},
+         * 把结果存放到{@code bits}的前{@code count}位中, 之后的位保持不变.
+         *
+         * @param random          随机数生成器
+         * @param trueProbability 每次返回{@code true}的概率
+         * @param bits            存放结果的位图
+         * @param count           次数
+         * @throws IllegalArgumentException 如果{@code count}小于0
+         * @throws NullPointerException     如果{@code random}或{@code bits}为null
+         * @see #randomBooleanValues(RandomGenerator, double, long[], int)
+         * @since 2026-10-16
+         */
+        public static void randomBooleanValues(final RandomGenerator random, final double trueProbability,
+                                               final BitSet bits, final int count)
+        {
+            requireNonNull(random);
+            if (count < 0)
+            {
+                throw new IllegalArgumentException("错误次数:" + count);
+            }
+            bits.clear(0, count);
+
+            final long threshold = bernoulliThreshold(trueProbability);
+            for (int base = 0; base < count; base += Long.SIZE)
+            {
+                long word = bernoulliWord(random, threshold);
+                if (count - base < Long.SIZE)
+                {
+                    word &= (1L << count) - 1;
+                }
+                for (; word != 0; word &= word - 1)
+                {
+                    bits.set(base + Long.numberOfTrailingZeros(word));
+                }
+            }
+        }
+
+        /**
+         * 进行{@code trials}次{@link #randomBooleanValue(double)}, 返回结果为{@code true}的次数.
+         *
+         * @param trials          次数
+         * @param trueProbability 每次返回{@code true}的概率
+         * @return 结果为{@code true}的次数
+         * @throws IllegalArgumentException 如果{@code trials}小于0
+         * @see #randomTrueCount(RandomGenerator, int, double)
+         * @since 2026-10-16
+         */
+        public static int randomTrueCount(final int trials, final double trueProbability)
+        {
+            return randomTrueCount(current(), trials, trueProbability);
+        }
+
+        /**
+         * 使用给定的随机数生成器进行{@code trials}次{@link #randomBooleanValue(RandomGenerator, double)},
+         * 返回结果为{@code true}的次数.
+         * <p>
+         * 结果直接从二项分布{@code B(trials, trueProbability)}中抽样, 不会逐次判定. 期望次数较小
+         * ({@code trials * min(p, 1 - p) < 30})时使用逆变换法, 平均需要{@code O(trials * p)}次迭代;
+         * 否则使用 Kachitvichyanukul 与 Schmeiser 的 BTPE 算法, 平均只需要常数个随机数.
+         *
+         * @param random          随机数生成器
+         * @param trials          次数
+         * @param trueProbability 每次返回{@code true}的概率
+         * @return 结果为{@code true}的次数
+         * @throws IllegalArgumentException 如果{@code trials}小于0
+         * @throws NullPointerException     如果{@code random}为null
+         * @since 2026-10-16
+         */
+        public static int randomTrueCount(final RandomGenerator random, final int trials, final double trueProbability)
+        {
+            requireNonNull(random);
+            if (trials < 0)
+            {
+                throw new IllegalArgumentException("错误次数:" + trials);
+            }
+            if (trueProbability >= 1.0)
+            {
+                return trials;
+            }
+            if (!(trueProbability > 0.0) || trials == 0)
+            {
+                return 0;
+            }
+
+            //只对不大于0.5的概率抽样, 另一半用对称性得到
+            final boolean flipped = trueProbability > 0.5;
+            final double p = flipped ? 1.0 - trueProbability : trueProbability;
+            final int count = trials * p < 30.0 ? binomialInversion(random, trials, p)
+                    : binomialBtpe(random, trials, p);
+            return flipped ? trials - count : count;
+        }
+
+        /**
+         * 用逆变换法从{@code B(n, p)}中抽样, 要求{@code p <= 0.5}并且{@code n * p}较小.
+         */
+        private static int binomialInversion(final RandomGenerator random, final int n, final double p)
+        {
+            final double q = 1.0 - p;
+            final double qn = Math.exp(n * Math.log1p(-p));
+            final double np = n * p;
+            final double bound = Math.min(n, np + 10.0 * Math.sqrt(np * q + 1.0));
+
+            int x = 0;
+            double px = qn;
+            double u = random.nextDouble();
+            while (u > px)
+            {
+                x++;
+                if (x > bound)
+                {
+                    //累积的舍入误差导致超出了合理范围, 重新抽样
+                    x = 0;
+                    px = qn;
+                    u = random.nextDouble();
+                }
+                else
+                {
+                    u -= px;
+                    px = (n - x + 1) * p * px / (x * q);
+                }
+            }
+            return x;
+        }
+
+        /**
+         * 用 BTPE 算法从{@code B(n, p)}中抽样, 要求{@code p <= 0.5}并且{@code n * p >= 30}.
+         * <p>
+         * 见 V. Kachitvichyanukul, B. W. Schmeiser, Binomial random variate generation,
+         * Communications of the ACM 31(2), 1988.
+         */
+        private static int binomialBtpe(final RandomGenerator random, final int n, final double p)
+        {
+            final double q = 1.0 - p;
+            final double nrq = n * p * q;
+            final double fm = n * p + p;
+            final int m = (int) fm;
+            final double p1 = Math.floor(2.195 * Math.sqrt(nrq) - 4.6 * q) + 0.5;
+            final double xm = m + 0.5;
+            final double xl = xm - p1;
+            final double xr = xm + p1;
+            final double c = 0.134 + 20.5 / (15.3 + m);
+            double a = (fm - xl) / (fm - xl * p);
+            final double lambdaL = a * (1.0 + a / 2.0);
+            a = (xr - fm) / (xr * q);
+            final double lambdaR = a * (1.0 + a / 2.0);
+            final double p2 = p1 * (1.0 + 2.0 * c);
+            final double p3 = p2 + c / lambdaL;
+            final double p4 = p3 + c / lambdaR;
+
+            while (true)
+            {
+                final double u = random.nextDouble() * p4;
+                double v = random.nextDouble();
+                final int y;
+                if (u <= p1)
+                {
+                    //中间的三角形区域, 直接接受
+                    return (int) Math.floor(xm - p1 * v + u);
+                }
+                if (u <= p2)
+                {
+                    //两侧的平行四边形区域
+                    final double x = xl + (u - p1) / c;
+                    v = v * c + 1.0 - Math.abs(m - x + 0.5) / p1;
+                    if (v > 1.0)
+                    {
+                        continue;
+                    }
+                    y = (int) Math.floor(x);
+                }
+                else if (u <= p3)
+                {
+                    //左侧的指数尾部
+                    y = (int) Math.floor(xl + Math.log(v) / lambdaL);
+                    if (y < 0 || v == 0.0)
+                    {
+                        continue;
+                    }
+                    v = v * (u - p2) * lambdaL;
+                }
+                else
+                {
+                    //右侧的指数尾部
+                    y = (int) Math.floor(xr - Math.log(v) / lambdaR);
+                    if (y > n || v == 0.0)
+                    {
+                        continue;
+                    }
+                    v = v * (u - p3) * lambdaR;
+                }
+
+                final int k = Math.abs(y - m);
+                if (k <= 20 || k >= nrq / 2.0 - 1.0)
+                {
+                    //离众数较近时直接递推计算 f(y) / f(m)
+                    final double s = p / q;
+                    final double as = s * (n + 1);
+                    double f = 1.0;
+                    if (m < y)
+                    {
+                        for (int i = m + 1; i <= y; i++)
+                        {
+                            f *= as / i - s;
+                        }
+                    }
+                    else
+                    {
+                        for (int i = y + 1; i <= m; i++)
+                        {
+                            f /= as / i - s;
+                        }
+                    }
+                    if (v <= f)
+                    {
+                        return y;
+                    }
+                    continue;
+                }
+
+                //离众数较远时先用上下界快速判断, 再用 Stirling 公式计算 log(f(y) / f(m))
+                final double rho = k / nrq * ((k * (k / 3.0 + 0.625) + 1.0 / 6.0) / nrq + 0.5);
+                final double t = -(double) k * k / (2.0 * nrq);
+                final double logV = Math.log(v);
+                if (logV < t - rho)
+                {
+                    return y;
+                }
+                if (logV > t + rho)
+                {
+                    continue;
+                }
+
+                final double x1 = y + 1.0;
+                final double f1 = m + 1.0;
+                final double z = n + 1.0 - m;
+                final double w = n - y + 1.0;
+                if (logV <= xm * Math.log(f1 / x1)
+                        + (n - m + 0.5) * Math.log(z / w)
+                        + (y - m) * Math.log(w * p / (x1 * q))
+                        + stirlingCorrection(f1) + stirlingCorrection(z)
+                        + stirlingCorrection(x1) + stirlingCorrection(w))
+                {
+                    return y;
+                }
+            }
+        }
+
+        /**
+         * Stirling 公式的修正项.
+         */
+        private static double stirlingCorrection(final double x)
+        {
+            final double x2 = x * x;
+            return (13860.0 - (462.0 - (132.0 - (99.0 - 140.0 / x2) / x2) / x2) / x2) / x / 166320.0;
+        }
+
+        /**
+         * 检查次数与位图的长度, 返回需要写入的元素个数.
+         */
+        private static int checkBooleanCount(final int count, final int length)
+        {
+            final int words = (int) ((count + 63L) >>> 6);
+            if (count < 0 || words > length)
+            {
+                throw new IllegalArgumentException("错误次数:" + count);
+            }
+            return words;
+        }
+
+        /**
+         * 把概率转换为63位定点数. 概率大于等于1时返回-1, 非正数与NaN返回0.
+         */
+        static long bernoulliThreshold(final double trueProbability)
+        {
+            if (trueProbability >= 1.0)
+            {
+                return -1L;
+            }
+            if (!(trueProbability > 0.0))
+            {
+                return 0L;
+            }
+            return (long) Math.scalb(trueProbability, 63);
+        }
+
+        /**
+         * 同时进行64次概率为{@code threshold / 2^63}的判定, 每一位是一次判定的结果.
+         */
+        static long bernoulliWord(final RandomGenerator random, final long threshold)
+        {
+            if (threshold <= 0)
+            {
+                //-1表示必定为true, 0表示必定为false
+                return threshold;
+            }
+            long result = 0L;
+            long undecided = -1L;
+            //threshold的第62位是概率二进制展开的第一位小数; 最低的1之后各位都是0, 剩下未确定的通道都为false
+            final int lowest = Long.numberOfTrailingZeros(threshold);
+            for (int bit = 62; bit >= lowest && undecided != 0; bit--)
+            {
+                final long random64 = random.nextLong();
+                if ((threshold >>> bit & 1L) != 0)
+                {
+                    //随机数在这一位为0的通道小于概率, 结果为true
+                    result |= undecided & ~random64;
+                    undecided &= random64;
+                }
+                else
+                {
+                    //随机数在这一位为1的通道大于概率, 结果为false
+                    undecided &= ~random64;
+                }
+            }
+            //剩下未确定的通道不小于截断后的概率, 结果为false
+            return result;
+        }
+
+        /**
+         * 随机对数字加或减一个范围内的数.
+         *
+         * @param number 要进行加工的整数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @return {@code number}加或减 0(包含) ~ {@code floatingIntRange}(包含)的一个数
+         * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0
+         */
+        public static int floatingNumber(final int number, final int floatingIntRange)//按整数浮动
+        {
+            return floatingNumber(current(), number, floatingIntRange);
+        }
+
+        /**
+         * 使用给定的随机数生成器, 随机对数字加或减一个范围内的数.
+         *
+         * @param random 随机数生成器
+         * @param number 要进行加工的整数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @return {@code number}加或减 0(包含) ~ {@code floatingIntRange}(包含)的一个数
+         * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0
+         * @throws NullPointerException 如果{@code random}为null
+         * @since 2026-10-16
+         */
+        public static int floatingNumber(final RandomGenerator random, final int number, final int floatingIntRange)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingIntRange < 0);
+            }
+            if (floatingIntRange < 0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+            }
+
+            return number + randomOffset(random, floatingIntRange, null);
+        }
+
+        /**
+         * 随机对数字加或减一个范围内的数.
+         *
+         * @param number 要进行加工的整数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @param sign 手动指定的浮动方向, 只支持(+, -)
+         * @return {@code number}加或减(根据{@code sign}的值来决定) 0(包含) ~ {@code floatingIntRange}(包含)的一个数
+         * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0或sign的值是非法的
+         * @throws NullPointerException 如果{@code sign}为null
+         */
+        public static int floatingNumber(final int number, final int floatingIntRange,
+                                         final SpecifiedDirection sign)//按整数浮动
+        {
+            return floatingNumber(current(), number, floatingIntRange, sign);
+        }
+
+        /**
+         * 使用给定的随机数生成器, 随机对数字加或减一个范围内的数.
+         *
+         * @param random 随机数生成器
+         * @param number 要进行加工的整数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @param sign 手动指定的浮动方向, 只支持(+, -)
+         * @return {@code number}加或减(根据{@code sign}的值来决定) 0(包含) ~ {@code floatingIntRange}(包含)的一个数
+         * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0或sign的值是非法的
+         * @throws NullPointerException 如果{@code random}或{@code sign}为null
+         * @since 2026-10-16
+         */
+        public static int floatingNumber(final RandomGenerator random, final int number, final int floatingIntRange,
+                                         final SpecifiedDirection sign)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingIntRange < 0);
+            }
+            if (floatingIntRange < 0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+            }
+            requireNonNull(sign);
+
+            return number + randomOffset(random, floatingIntRange, sign);
+        }
+
+        /**
+         * 随机对数字加或减一个范围内的数.
+         *
+         * @param number 要进行加工的整数
+         * @param floatingPercentage 浮动的百分比范围
+         * @return {@code number}加或减 0(包含) ~ {@code number * floatingPercentage}(包含)的一个数
+         * @throws IllegalArgumentException 如果{@code floatingPercentage}小于0.0
+         */
+        public static int floatingNumber(final int number, final double floatingPercentage)
+        {
+            return floatingNumber(current(), number, floatingPercentage);
+        }
+
+        /**
+         * 使用给定的随机数生成器, 随机对数字加或减一个范围内的数.
+         *
+         * @param random 随机数生成器
+         * @param number 要进行加工的整数
+         * @param floatingPercentage 浮动的百分比范围
+         * @return {@code number}加或减 0(包含) ~ {@code number * floatingPercentage}(包含)的一个数
+         * @throws IllegalArgumentException 如果{@code floatingPercentage}小于0.0
+         * @throws NullPointerException 如果{@code random}为null
+         * @since 2026-10-16
+         */
+        public static int floatingNumber(final RandomGenerator random, final int number,
+                                         final double floatingPercentage)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingPercentage < 0.0);
+            }
+            if (floatingPercentage < 0.0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+            }
+
+            return number + randomOffset(random, percentageRange(number, floatingPercentage), null);
+        }
+
+        /**
+         * 随机对数字加或减一个范围内的数.
+         *
+         * @param number 要进行加工的整数
+         * @param floatingPercentage 浮动的百分比范围
+         * @return {@code number}加或减(根据{@code sign}的值来决定) 0(包含) ~ {@code number * floatingPercentage}(包含)的一个数
+         * @param sign 手动指定的浮动方向, 只支持(+, -)
+         * @throws IllegalArgumentException 如果{@code floatingPercentage}小于0.0或sign的值是非法的
+         * @throws NullPointerException 如果{@code sign}为null
+         */
+        public static int floatingNumber(final int number, final double floatingPercentage, final SpecifiedDirection sign)
+        {
+            return floatingNumber(current(), number, floatingPercentage, sign);
+        }
+
+        /**
+         * 使用给定的随机数生成器, 随机对数字加或减一个范围内的数.
+         *
+         * @param random 随机数生成器
+         * @param number 要进行加工的整数
+         * @param floatingPercentage 浮动的百分比范围
+         * @param sign 手动指定的浮动方向, 只支持(+, -)
+         * @return {@code number}加或减(根据{@code sign}的值来决定) 0(包含) ~ {@code number * floatingPercentage}(包含)的一个数
+         * @throws IllegalArgumentException 如果{@code floatingPercentage}小于0.0或sign的值是非法的
+         * @throws NullPointerException 如果{@code random}或{@code sign}为null
+         * @since 2026-10-16
+         */
+        public static int floatingNumber(final RandomGenerator random, final int number,
+                                         final double floatingPercentage, final SpecifiedDirection sign)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingPercentage < 0.0);
+            }
+            if (floatingPercentage < 0.0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+            }
+            requireNonNull(sign);
+
+            return number + randomOffset(random, percentageRange(number, floatingPercentage), sign);
+        }
+
+        public static int floatingNumber(final double number, final double floatingPercentage)
+        {
+            return floatingNumber(current(), number, floatingPercentage);
+        }
+
+        /**
+         * 使用给定的随机数生成器, 随机对数字加或减一个范围内的数.
+         *
+         * @param random 随机数生成器
+         * @param number 要进行加工的数
+         * @param floatingPercentage 浮动的百分比范围
+         * @return {@code number}加或减 0(包含) ~ {@code number * floatingPercentage}(包含, 四舍五入)的一个数,
+         * 再截断为整数
+         * @throws IllegalArgumentException 如果{@code floatingPercentage}小于0.0
+         * @throws NullPointerException 如果{@code random}为null
+         * @since 2026-10-16
+         */
+        public static int floatingNumber(final RandomGenerator random, final double number,
+                                         final double floatingPercentage)
+        {
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingPercentage < 0.0);
+            }
+            if (floatingPercentage < 0.0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+            }
+
+            return (int) (number + randomOffset(random, percentageRange(number, floatingPercentage), null));
+        }
+
+        /**
+         * 对数组中的每个整数执行{@link #floatingNumber(int, int)}, 结果直接写回数组.
+         *
+         * @param numbers          要进行加工的整数
+         * @param offset           开始加工的下标
+         * @param length           要加工的元素个数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @param saturating       为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingIntRange}小于0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code numbers}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final int[] numbers, final int offset, final int length,
+                                           final int floatingIntRange, final boolean saturating)
+        {
+            floatingNumbers(current(), numbers, offset, length, floatingIntRange, saturating);
+        }
+
+        /**
+         * 使用给定的随机数生成器对数组中的每个整数执行{@link #floatingNumber(RandomGenerator, int, int)},
+         * 结果直接写回数组.
+         *
+         * @param random           随机数生成器
+         * @param numbers          要进行加工的整数
+         * @param offset           开始加工的下标
+         * @param length           要加工的元素个数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @param saturating       为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingIntRange}小于0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code random}或{@code numbers}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final RandomGenerator random, final int[] numbers, final int offset,
+                                           final int length, final int floatingIntRange, final boolean saturating)
+        {
+            floatingNumbersByRange(random, numbers, offset, length, floatingIntRange, null, saturating);
+        }
+
+        /**
+         * 对数组中的每个整数执行{@link #floatingNumber(int, int, SpecifiedDirection)}, 结果直接写回数组.
+         *
+         * @param numbers          要进行加工的整数
+         * @param offset           开始加工的下标
+         * @param length           要加工的元素个数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @param sign             手动指定的浮动方向, 只支持(+, -)
+         * @param saturating       为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingIntRange}小于0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code numbers}或{@code sign}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final int[] numbers, final int offset, final int length,
+                                           final int floatingIntRange, final SpecifiedDirection sign,
+                                           final boolean saturating)
+        {
+            floatingNumbers(current(), numbers, offset, length, floatingIntRange, sign, saturating);
+        }
+
+        /**
+         * 使用给定的随机数生成器对数组中的每个整数执行
+         * {@link #floatingNumber(RandomGenerator, int, int, SpecifiedDirection)}, 结果直接写回数组.
+         *
+         * @param random           随机数生成器
+         * @param numbers          要进行加工的整数
+         * @param offset           开始加工的下标
+         * @param length           要加工的元素个数
+         * @param floatingIntRange 浮动的整数范围(非负数)
+         * @param sign             手动指定的浮动方向, 只支持(+, -)
+         * @param saturating       为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingIntRange}小于0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code random}, {@code numbers}或{@code sign}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final RandomGenerator random, final int[] numbers, final int offset,
+                                           final int length, final int floatingIntRange,
+                                           final SpecifiedDirection sign, final boolean saturating)
+        {
+            requireNonNull(sign);
+            floatingNumbersByRange(random, numbers, offset, length, floatingIntRange, sign, saturating);
+        }
+
+        /**
+         * 对数组中的每个整数执行{@link #floatingNumber(int, double)}, 结果直接写回数组.
+         *
+         * @param numbers            要进行加工的整数
+         * @param offset             开始加工的下标
+         * @param length             要加工的元素个数
+         * @param floatingPercentage 浮动的百分比范围
+         * @param saturating         为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code numbers}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final int[] numbers, final int offset, final int length,
+                                           final double floatingPercentage, final boolean saturating)
+        {
+            floatingNumbers(current(), numbers, offset, length, floatingPercentage, saturating);
+        }
+
+        /**
+         * 使用给定的随机数生成器对数组中的每个整数执行{@link #floatingNumber(RandomGenerator, int, double)},
+         * 结果直接写回数组.
+         *
+         * @param random             随机数生成器
+         * @param numbers            要进行加工的整数
+         * @param offset             开始加工的下标
+         * @param length             要加工的元素个数
+         * @param floatingPercentage 浮动的百分比范围
+         * @param saturating         为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code random}或{@code numbers}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final RandomGenerator random, final int[] numbers, final int offset,
+                                           final int length, final double floatingPercentage,
+                                           final boolean saturating)
+        {
+            floatingNumbersByPercentage(random, numbers, offset, length, floatingPercentage, null, saturating);
+        }
+
+        /**
+         * 对数组中的每个整数执行{@link #floatingNumber(int, double, SpecifiedDirection)}, 结果直接写回数组.
+         *
+         * @param numbers            要进行加工的整数
+         * @param offset             开始加工的下标
+         * @param length             要加工的元素个数
+         * @param floatingPercentage 浮动的百分比范围
+         * @param sign               手动指定的浮动方向, 只支持(+, -)
+         * @param saturating         为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code numbers}或{@code sign}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final int[] numbers, final int offset, final int length,
+                                           final double floatingPercentage, final SpecifiedDirection sign,
+                                           final boolean saturating)
+        {
+            floatingNumbers(current(), numbers, offset, length, floatingPercentage, sign, saturating);
+        }
+
+        /**
+         * 使用给定的随机数生成器对数组中的每个整数执行
+         * {@link #floatingNumber(RandomGenerator, int, double, SpecifiedDirection)}, 结果直接写回数组.
+         *
+         * @param random             随机数生成器
+         * @param numbers            要进行加工的整数
+         * @param offset             开始加工的下标
+         * @param length             要加工的元素个数
+         * @param floatingPercentage 浮动的百分比范围
+         * @param sign               手动指定的浮动方向, 只支持(+, -)
+         * @param saturating         为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+         * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code random}, {@code numbers}或{@code sign}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final RandomGenerator random, final int[] numbers, final int offset,
+                                           final int length, final double floatingPercentage,
+                                           final SpecifiedDirection sign, final boolean saturating)
+        {
+            requireNonNull(sign);
+            floatingNumbersByPercentage(random, numbers, offset, length, floatingPercentage, sign, saturating);
+        }
+
+        /**
+         * 对数组中的每个数执行{@link #floatingNumber(double, double)}, 结果直接写回数组.
+         *
+         * @param numbers            要进行加工的数
+         * @param offset             开始加工的下标
+         * @param length             要加工的元素个数
+         * @param floatingPercentage 浮动的百分比范围
+         * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code numbers}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final double[] numbers, final int offset, final int length,
+                                           final double floatingPercentage)
+        {
+            floatingNumbers(current(), numbers, offset, length, floatingPercentage);
+        }
+
+        /**
+         * 使用给定的随机数生成器对数组中的每个数执行{@link #floatingNumber(RandomGenerator, double, double)},
+         * 结果直接写回数组.
+         * <p>
+         * 与标量方法一样, 写回的结果是截断后的整数, 超出int范围时取边界值.
+         *
+         * @param random             随机数生成器
+         * @param numbers            要进行加工的数
+         * @param offset             开始加工的下标
+         * @param length             要加工的元素个数
+         * @param floatingPercentage 浮动的百分比范围
+         * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+         * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+         * @throws NullPointerException      如果{@code random}或{@code numbers}为null
+         * @since 2026-10-16
+         */
+        public static void floatingNumbers(final RandomGenerator random, final double[] numbers, final int offset,
+                                           final int length, final double floatingPercentage)
+        {
+            requireNonNull(random);
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingPercentage < 0.0);
+            }
+            if (floatingPercentage < 0.0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+            }
+            checkFromIndexSize(offset, length, numbers.length);
+
+            final int end = offset + length;
+            for (int i = offset; i < end; i++)
+            {
+                final double number = numbers[i];
+                numbers[i] = (int) (number + randomOffset(random, percentageRange(number, floatingPercentage), null));
+            }
+        }
+
+        private static void floatingNumbersByRange(final RandomGenerator random, final int[] numbers,
+                                                   final int offset, final int length, final int floatingIntRange,
+                                                   final SpecifiedDirection sign, final boolean saturating)
+        {
+            requireNonNull(random);
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingIntRange < 0);
+            }
+            if (floatingIntRange < 0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+            }
+            checkFromIndexSize(offset, length, numbers.length);
+
+            final int end = offset + length;
+            for (int i = offset; i < end; i++)
+            {
+                numbers[i] = add(numbers[i], randomOffset(random, floatingIntRange, sign), saturating);
+            }
+        }
+
+        private static void floatingNumbersByPercentage(final RandomGenerator random, final int[] numbers,
+                                                        final int offset, final int length,
+                                                        final double floatingPercentage,
+                                                        final SpecifiedDirection sign, final boolean saturating)
+        {
+            requireNonNull(random);
+            if (CalculationMetrics.ENABLED)
+            {
+                CalculationMetrics.floatingNumber(floatingPercentage < 0.0);
+            }
+            if (floatingPercentage < 0.0)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+            }
+            checkFromIndexSize(offset, length, numbers.length);
+
+            final int end = offset + length;
+            for (int i = offset; i < end; i++)
+            {
+                final int number = numbers[i];
+                numbers[i] = add(number, randomOffset(random, percentageRange(number, floatingPercentage), sign),
+                        saturating);
+            }
+        }
+
+        /**
+         * 生成浮动值. {@code sign}为null时在{@code [-range, range]}上均匀分布,
+         * 否则在{@code [0, range]}上均匀分布并按{@code sign}决定正负.
+         */
+        private static int randomOffset(final RandomGenerator random, final int range, final SpecifiedDirection sign)
+        {
+            final long bits = random.nextLong() >>> 32;
+            if (sign == null)
+            {
+                return (int) (boundedRandom(random, bits, 2L * range + 1) - range);
+            }
+            final int randomNumber = (int) boundedRandom(random, bits, range + 1L);
+            return sign == SpecifiedDirection.ONLY_INCREASE ? randomNumber : -randomNumber;
+        }
+
+        /**
+         * 用32位随机数生成{@code [0, bound)}上均匀分布的数, {@code bound}不能超过{@code 2^32}.
+         * <p>
+         * 使用 Lemire 的乘法映射: 通常只需要一次乘法; 乘积的低32位小于{@code bound}时才需要计算一次取模,
+         * 落在会导致偏差的区间时再取新的随机数, 这种情况的概率小于{@code bound / 2^32}.
+         *
+         * @param random 需要重新取随机数时使用的随机数生成器
+         * @param bits   已经取到的32位随机数(放在低32位)
+         * @param bound  上界(不包含)
+         * @return {@code [0, bound)}之间的随机数
+         */
+        static long boundedRandom(final RandomGenerator random, long bits, final long bound)
+        {
+            //bits与bound都不超过2^32, 乘积作为无符号数不会溢出
+            long product = bits * bound;
+            if ((product & 0xFFFF_FFFFL) < bound)
+            {
+                final long threshold = ((1L << 32) - bound) % bound;
+                while ((product & 0xFFFF_FFFFL) < threshold)
+                {
+                    bits = random.nextLong() >>> 32;
+                    product = bits * bound;
+                }
+            }
+            return product >>> 32;
+        }
+
+        /**
+         * 整数按百分比浮动时的浮动范围, 即{@code |number * floatingPercentage|}截断后的整数.
+         */
+        private static int percentageRange(final int number, final double floatingPercentage)
+        {
+            return (int) Math.abs(floatingPercentage * number);
+        }
+
+        /**
+         * 浮点数按百分比浮动时的浮动范围, 即{@code |number * floatingPercentage|}四舍五入后的整数.
+         */
+        private static int percentageRange(final double number, final double floatingPercentage)
+        {
+            return Math.round((float) Math.abs(floatingPercentage * number));
+        }
+
+        private static int add(final int number, final int offset, final boolean saturating)
+        {
+            if (!saturating)
+            {
+                return number + offset;
+            }
+            final long result = (long) number + offset;
+            return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, result));
         }
     }
 }
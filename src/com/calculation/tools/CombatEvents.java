@@ -0,0 +1,379 @@
+package com.calculation.tools;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.SettingControl;
+import jdk.jfr.SettingDefinition;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 战斗判定的 Java Flight Recorder 事件.
+ * <p>
+ * {@link Simulation}与{@link AreaResolver#resolve(java.util.random.RandomGenerator, StatBlock, EntityStatTable,
+ * int[], int[])}在每次攻击后提交{@link SwingEvent}, 暴击时再提交{@link CritEvent}, {@link Simulation}在一方被击杀时提交
+ * {@link KillEvent}, 每批模拟结束时提交{@link SimulationEvent}. 事件记录双方的属性与判定结果,
+ * 可以在线上用 JFR 分析战斗数据, 不需要在{@link CalculationTools.Value}的调用处添加日志.
+ * <p>
+ * 没有开启 JFR 或没有启用对应的事件时, 每个提交点只需要一次{@link Event#isEnabled()}判断, 事件对象会被逃逸分析消除.
+ * 取样使用{@link ThreadLocalRandom}, 不会消耗模拟使用的随机数, 开启事件不会改变模拟结果.
+ * <p>
+ * 事件类不是公开的 API, 通过事件名在 JFC 文件或{@link jdk.jfr.Recording#enable(String)}中配置:
+ * <ul>
+ *     <li>{@code com.calculation.Swing}, {@code com.calculation.Crit}与{@code com.calculation.Kill}默认关闭,
+ *     {@code sampleRate}为提交的比例, 默认为{@code 0.01}</li>
+ *     <li>{@code com.calculation.Crit}只提交伤害不小于{@code minimumDamage}的暴击, 默认为{@code 0},
+ *     满足条件的暴击再按{@code sampleRate}取样</li>
+ *     <li>{@code com.calculation.Simulation}默认开启, 只提交耗时不小于{@code threshold}的批次, 默认为{@code 0 ms}</li>
+ * </ul>
+ * 例如{@code recording.enable("com.calculation.Crit").with("sampleRate", "0.001").with("minimumDamage", "500")}.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+final class CombatEvents
+{
+    private CombatEvents()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 提交一次攻击的事件, 暴击时同时提交{@link CritEvent}.
+     *
+     * @param attacker         攻击者
+     * @param victimEvade      被攻击者的闪避
+     * @param victimResistance 被攻击者的暴击抗性
+     * @param victimArmor      被攻击者的护甲值
+     * @param hitRate          命中几率
+     * @param critChance       暴击概率
+     * @param outcome          {@link CombatResolver}编码后的结果
+     * @param damage           最终伤害
+     */
+    static void swing(final StatBlock attacker, final int victimEvade, final int victimResistance,
+                      final double victimArmor, final double hitRate, final double critChance, final int outcome,
+                      final int damage)
+    {
+        //commit会再次检查取样等设置, 在这之前调用shouldCommit会使取样执行两次
+        final var swing = new SwingEvent();
+        if (swing.isEnabled())
+        {
+            swing.set(attacker, victimEvade, victimResistance, victimArmor);
+            swing.hitRate = hitRate;
+            swing.critChance = critChance;
+            swing.outcome = CombatResolver.kind(outcome);
+            swing.damage = damage;
+            swing.commit();
+        }
+        if (CombatResolver.kind(outcome) == CombatResolver.CRIT)
+        {
+            final var crit = new CritEvent();
+            if (crit.isEnabled())
+            {
+                crit.damage = damage;
+                crit.set(attacker, victimEvade, victimResistance, victimArmor);
+                crit.critChance = critChance;
+                crit.critsEffect = attacker.critsEffect();
+                crit.commit();
+            }
+        }
+    }
+
+    /**
+     * 提交一方被击杀的事件.
+     *
+     * @param killer 击杀者
+     * @param victim 被击杀者
+     * @param rounds 击杀用的回合数
+     */
+    static void kill(final StatBlock killer, final StatBlock victim, final int rounds)
+    {
+        final var kill = new KillEvent();
+        if (kill.isEnabled())
+        {
+            kill.set(killer, victim.evade(), victim.resistance(), victim.armor());
+            kill.victimHp = victim.hp();
+            kill.victimDamageReduction = victim.damageReduction();
+            kill.rounds = rounds;
+            kill.commit();
+        }
+    }
+
+    /**
+     * 攻击者与被攻击者的属性, 各事件共用的字段.
+     */
+    @Category({"Calculation", "Combat"})
+    @StackTrace(false)
+    abstract static class MatchupEvent extends Event
+    {
+        @Label("Attacker Hit")
+        int attackerHit;
+        @Label("Attacker Crit")
+        int attackerCrit;
+        @Label("Attacker Physical Attack")
+        double attackerPhysicalAttack;
+        @Label("Victim Evade")
+        int victimEvade;
+        @Label("Victim Resistance")
+        int victimResistance;
+        @Label("Victim Armor")
+        double victimArmor;
+
+        final void set(final StatBlock attacker, final int evade, final int resistance, final double armor)
+        {
+            attackerHit = attacker.hit();
+            attackerCrit = attacker.crit();
+            attackerPhysicalAttack = attacker.physicalAttack();
+            victimEvade = evade;
+            victimResistance = resistance;
+            victimArmor = armor;
+        }
+    }
+
+    /**
+     * 按{@code sampleRate}取样的事件.
+     * <p>
+     * JDK 17 按声明顺序与{@link Class#getDeclaredMethods()}的顺序分别为同一个类中的设置编号, 两者不一致时设置会错位,
+     * 所以每个类最多声明一个设置, 子类的其它设置与取样分开声明.
+     */
+    abstract static class SampledEvent extends MatchupEvent
+    {
+        @Name("sampleRate")
+        @Label("Sample Rate")
+        @SettingDefinition
+        boolean sampleRate(final SampleRateControl control)
+        {
+            return control.sample();
+        }
+    }
+
+    /**一次攻击*/
+    @Name("com.calculation.Swing")
+    @Label("Swing")
+    @Description("一次攻击的判定结果, 按sampleRate取样")
+    @Enabled(false)
+    static final class SwingEvent extends SampledEvent
+    {
+        @Label("Hit Rate")
+        double hitRate;
+        @Label("Crit Chance")
+        double critChance;
+        @Label("Outcome")
+        @Description("0为未命中, 1为命中, 2为暴击")
+        int outcome;
+        @Label("Damage")
+        int damage;
+
+        SwingEvent()
+        {
+        }
+    }
+
+    /**一次暴击*/
+    @Name("com.calculation.Crit")
+    @Label("Crit")
+    @Description("一次暴击, 只记录伤害不小于minimumDamage的暴击, 按sampleRate取样")
+    @Enabled(false)
+    static final class CritEvent extends SampledEvent
+    {
+        @Label("Crit Chance")
+        double critChance;
+        @Label("Crits Effect")
+        double critsEffect;
+        @Label("Damage")
+        int damage;
+
+        CritEvent()
+        {
+        }
+
+        @Name("minimumDamage")
+        @Label("Minimum Damage")
+        @SettingDefinition
+        boolean minimumDamage(final MinimumDamageControl control)
+        {
+            return damage >= control.minimum;
+        }
+    }
+
+    /**一方被击杀*/
+    @Name("com.calculation.Kill")
+    @Label("Kill")
+    @Description("一方被击杀, 攻击者为击杀者, 按sampleRate取样")
+    @Enabled(false)
+    static final class KillEvent extends SampledEvent
+    {
+        @Label("Victim HP")
+        int victimHp;
+        @Label("Victim Damage Reduction")
+        double victimDamageReduction;
+        @Label("Rounds")
+        int rounds;
+
+        KillEvent()
+        {
+        }
+    }
+
+    /**一批模拟, 持续时间为整批模拟的耗时*/
+    @Name("com.calculation.Simulation")
+    @Label("Simulation")
+    @Description("一次Simulation.duel调用")
+    @Category({"Calculation", "Combat"})
+    @StackTrace(false)
+    @Threshold("0 ms")
+    static final class SimulationEvent extends Event
+    {
+        @Label("Duels")
+        long duels;
+        @Label("Max Rounds")
+        int maxRounds;
+        @Label("First Wins")
+        long firstWins;
+        @Label("Second Wins")
+        long secondWins;
+        @Label("Draws")
+        long draws;
+        @Label("First Win Rate")
+        double firstWinRate;
+
+        SimulationEvent()
+        {
+        }
+    }
+
+    /**
+     * 提交的比例, 取值为{@code [0, 1]}. 多个记录同时开启时取最大的比例.
+     */
+    public static final class SampleRateControl extends SettingControl
+    {
+        private static final String DEFAULT = "0.01";
+
+        private volatile double rate = Double.parseDouble(DEFAULT);
+        private volatile String value = DEFAULT;
+
+        /**
+         * 由 JFR 创建.
+         */
+        public SampleRateControl()
+        {
+        }
+
+        @Override
+        public String combine(final Set<String> values)
+        {
+            double max = -1.0;
+            String result = DEFAULT;
+            for (final var candidate : values)
+            {
+                final double parsed = parse(candidate);
+                if (parsed > max)
+                {
+                    max = parsed;
+                    result = candidate;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void setValue(final String value)
+        {
+            this.rate = parse(value);
+            this.value = value;
+        }
+
+        @Override
+        public String getValue()
+        {
+            return value;
+        }
+
+        private boolean sample()
+        {
+            final double current = rate;
+            return current >= 1.0 || current > 0.0 && ThreadLocalRandom.current().nextDouble() < current;
+        }
+
+        private static double parse(final String value)
+        {
+            try
+            {
+                final double parsed = Double.parseDouble(value);
+                return parsed >= 0.0 ? Math.min(parsed, 1.0) : 0.0;
+            }
+            catch (final NumberFormatException e)
+            {
+                return Double.parseDouble(DEFAULT);
+            }
+        }
+    }
+
+    /**
+     * 最小的伤害. 多个记录同时开启时取最小的值.
+     */
+    public static final class MinimumDamageControl extends SettingControl
+    {
+        private static final String DEFAULT = "0";
+
+        private volatile long minimum;
+        private volatile String value = DEFAULT;
+
+        /**
+         * 由 JFR 创建.
+         */
+        public MinimumDamageControl()
+        {
+        }
+
+        @Override
+        public String combine(final Set<String> values)
+        {
+            long min = Long.MAX_VALUE;
+            String result = DEFAULT;
+            for (final var candidate : values)
+            {
+                final long parsed = parse(candidate);
+                if (parsed < min)
+                {
+                    min = parsed;
+                    result = candidate;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void setValue(final String value)
+        {
+            this.minimum = parse(value);
+            this.value = value;
+        }
+
+        @Override
+        public String getValue()
+        {
+            return value;
+        }
+
+        private static long parse(final String value)
+        {
+            try
+            {
+                return Long.parseLong(value.trim());
+            }
+            catch (final NumberFormatException e)
+            {
+                return 0L;
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Tools;
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.random.RandomGenerator;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * 只用一个随机数完成一次攻击的判定: 未命中, 命中或暴击, 以及伤害的浮动值.
+ * <p>
+ * 依次调用{@link CalculationTools.Tools#randomBooleanValue(double)}判定命中与暴击,
+ * 再用{@link CalculationTools.Tools#floatingNumber(int, int)}浮动伤害, 一次攻击最多需要4个随机数.
+ * 这里把一个64位随机数的高32位按概率划分为暴击, 命中, 未命中三个区间, 低32位用来生成浮动值,
+ * 结果编码在一个int中, 不会分配任何对象.
+ * <p>
+ * 判定的概率精度为{@code 2^-32}. 浮动值在{@code [-floatingIntRange, floatingIntRange]}上均匀分布,
+ * 与{@link Tools}中的{@code floatingNumber}使用相同的取随机数方法.
+ * 编码后的结果可以用{@link #kind(int)}与{@link #spread(int)}解码.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class CombatResolver
+{
+    /**未命中*/
+    public static final int MISS = 0;
+    /**命中但没有暴击*/
+    public static final int HIT = 1;
+    /**暴击*/
+    public static final int CRIT = 2;
+    /**浮动范围的最大值, 保证浮动值与判定结果可以编码在一个int中*/
+    public static final int MAX_FLOATING_RANGE = (1 << 29) - 1;
+
+    private static final int KIND_BITS = 2;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1;
+    private static final long LOW_32_BITS = 0xFFFF_FFFFL;
+    /**概率为1时的区间长度*/
+    private static final long CERTAIN = 1L << 32;
+
+    private CombatResolver()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 判定一次攻击的结果.
+     *
+     * @param hitRate          命中的几率
+     * @param critChance       命中后暴击的概率
+     * @param floatingIntRange 伤害浮动的整数范围
+     * @return 编码后的结果
+     * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0或大于{@link #MAX_FLOATING_RANGE}
+     * @see #resolve(RandomGenerator, double, double, int)
+     */
+    public static int resolve(final double hitRate, final double critChance, final int floatingIntRange)
+    {
+        return resolve(current(), hitRate, critChance, floatingIntRange);
+    }
+
+    /**
+     * 使用给定的随机数生成器判定一次攻击的结果.
+     * <p>
+     * 命中的概率为{@code hitRate}, 暴击的概率为{@code hitRate * critChance}, 与先判定命中再判定暴击相同.
+     * 概率大于等于1时必定发生, 小于等于0时必定不发生.
+     *
+     * @param random           随机数生成器
+     * @param hitRate          命中的几率
+     * @param critChance       命中后暴击的概率
+     * @param floatingIntRange 伤害浮动的整数范围
+     * @return 编码后的结果
+     * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0或大于{@link #MAX_FLOATING_RANGE}
+     * @throws NullPointerException     如果{@code random}为null
+     */
+    public static int resolve(final RandomGenerator random, final double hitRate, final double critChance,
+                              final int floatingIntRange)
+    {
+        if (floatingIntRange < 0 || floatingIntRange > MAX_FLOATING_RANGE)
+        {
+            throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+        }
+
+        final long word = random.nextLong();
+        final long band = word >>> 32;
+        final int kind = band < threshold(clamp(hitRate) * clamp(critChance)) ? CRIT
+                : band < threshold(hitRate) ? HIT : MISS;
+        final int spread = (int) (Tools.boundedRandom(random, word & LOW_32_BITS, 2L * floatingIntRange + 1)
+                - floatingIntRange);
+        return spread << KIND_BITS | kind;
+    }
+
+    /**
+     * 从编码后的结果中取出判定结果.
+     *
+     * @param outcome 编码后的结果
+     * @return {@link #MISS}, {@link #HIT}或{@link #CRIT}
+     */
+    public static int kind(final int outcome)
+    {
+        return outcome & KIND_MASK;
+    }
+
+    /**
+     * 从编码后的结果中取出伤害的浮动值.
+     *
+     * @param outcome 编码后的结果
+     * @return {@code [-floatingIntRange, floatingIntRange]}之间的浮动值
+     */
+    public static int spread(final int outcome)
+    {
+        return outcome >> KIND_BITS;
+    }
+
+    /**
+     * 根据编码后的结果计算最终伤害.
+     * <p>
+     * 未命中时为0; 命中时为四舍五入后的{@code hurt}加上浮动值; 暴击时为
+     * {@link Value#criticalDamage(double, double)}加上浮动值. 与{@link CalculationTools.Tools#floatingNumber(int, int)}
+     * 一样, 结果可能小于0.
+     *
+     * @param outcome     编码后的结果
+     * @param hurt        攻击者对被攻击者可以造成的的伤害
+     * @param critsEffect 攻击者的暴击效果
+     * @return 最终伤害
+     */
+    public static int damage(final int outcome, final double hurt, final double critsEffect)
+    {
+        return switch (kind(outcome)) {
+            case HIT -> Value.normalDamage(hurt) + spread(outcome);
+            case CRIT -> Value.criticalDamage(hurt, critsEffect) + spread(outcome);
+            default -> 0;
+        };
+    }
+
+    private static double clamp(final double probability)
+    {
+        return probability >= 1.0 ? 1.0 : probability > 0.0 ? probability : 0.0;
+    }
+
+    /**
+     * 把概率转换为32位随机数的区间长度, NaN按0处理.
+     */
+    private static long threshold(final double probability)
+    {
+        return probability >= 1.0 ? CERTAIN : (long) (clamp(probability) * CERTAIN);
+    }
+}
@@ -0,0 +1,409 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * 非负整数伤害的精确概率分布, 可以求出多次攻击后伤害总和的分布.
+ * <p>
+ * 单次攻击的分布与{@link Simulation}中的规则相同: 未命中时为0, 命中或暴击时为
+ * {@link Value#criticalDamage(double, double)}加上{@code [-floatingIntRange, floatingIntRange]}上均匀分布的浮动值,
+ * 小于0时按0计算. 伤害减免不计入分布, 需要时把HP换算为{@link Value#victimEffectiveHp(int, double, double)}再比较.
+ * <p>
+ * 多次攻击的伤害总和是单次分布的卷积. {@link #afterSwings(int)}用平方求幂只做{@code O(log K)}次卷积,
+ * 两个分布的长度之积不超过{@value #DIRECT_THRESHOLD}时直接相乘累加, 否则用快速傅里叶变换计算.
+ * 快速傅里叶变换的结果有约{@code 1e-15}的绝对误差, 出现的负数按0处理, 所以概率很小的尾部只有绝对精度.
+ * <p>
+ * 这个类是不可变的, 可以在多个线程之间共享.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class DamageDistribution
+{
+    /**两个分布的长度之积不超过这个值时直接计算卷积*/
+    static final int DIRECT_THRESHOLD = 1 << 14;
+    /**快速傅里叶变换的最大长度*/
+    private static final int MAX_FFT_LENGTH = 1 << 28;
+
+    /**probabilities[d]为伤害等于d的概率*/
+    private final double[] probabilities;
+    /**cumulative[d]为伤害小于等于d的概率*/
+    private final double[] cumulative;
+
+    private DamageDistribution(final double[] probabilities)
+    {
+        this.probabilities = probabilities;
+        this.cumulative = new double[probabilities.length];
+        double sum = 0.0;
+        for (int i = 0; i < probabilities.length; i++)
+        {
+            sum += probabilities[i];
+            cumulative[i] = sum;
+        }
+    }
+
+    /**
+     * 计算{@code attacker}攻击{@code victim}一次造成的伤害的分布.
+     *
+     * @param attacker 攻击者
+     * @param victim   被攻击者
+     * @return 单次攻击的伤害分布
+     * @throws IllegalArgumentException 如果伤害的最大值超出了数组的范围
+     * @throws NullPointerException     如果任意一个参数为null
+     */
+    public static DamageDistribution swing(final StatBlock attacker, final StatBlock victim)
+    {
+        final var matchup = attacker.against(victim);
+        final double hitRate = clamp(matchup.hitRate());
+        final double critChance = clamp(matchup.critChance());
+        final double hurt = matchup.physicalDamage();
+        final int range = attacker.floatingIntRange();
+
+        final int normal = Value.normalDamage(hurt);
+        final int critical = Value.criticalDamage(hurt, attacker.critsEffect());
+        final long max = Math.max(0L, Math.max((long) normal, critical) + range);
+        if (max >= MAX_FFT_LENGTH)
+        {
+            throw new IllegalArgumentException("错误范围:" + max);
+        }
+
+        final var probabilities = new double[(int) max + 1];
+        probabilities[0] = 1.0 - hitRate;
+        spread(probabilities, normal, range, hitRate * (1.0 - critChance));
+        spread(probabilities, critical, range, hitRate * critChance);
+        return new DamageDistribution(probabilities);
+    }
+
+    /**
+     * 把{@code weight}平均分配到{@code base - range ~ base + range}上, 小于0的部分计入0.
+     */
+    private static void spread(final double[] probabilities, final int base, final int range, final double weight)
+    {
+        if (weight <= 0.0)
+        {
+            return;
+        }
+        final double each = weight / (2.0 * range + 1.0);
+        for (long damage = (long) base - range; damage <= (long) base + range; damage++)
+        {
+            probabilities[(int) Math.max(0L, damage)] += each;
+        }
+    }
+
+    /**
+     * 用给定的概率创建分布.
+     *
+     * @param probabilities 第d个元素为伤害等于d的概率, 会被复制
+     * @return 伤害分布
+     * @throws IllegalArgumentException 如果{@code probabilities}为空, 或含有负数与NaN
+     * @throws NullPointerException     如果{@code probabilities}为null
+     */
+    public static DamageDistribution of(final double[] probabilities)
+    {
+        if (probabilities.length == 0)
+        {
+            throw new IllegalArgumentException("错误范围:" + probabilities.length);
+        }
+        for (final double probability : probabilities)
+        {
+            if (!(probability >= 0.0))
+            {
+                throw new IllegalArgumentException("错误范围:" + probability);
+            }
+        }
+        return new DamageDistribution(probabilities.clone());
+    }
+
+    /**
+     * 计算独立地进行{@code swings}次这样的攻击后伤害总和的分布.
+     *
+     * @param swings 攻击次数
+     * @return 伤害总和的分布, {@code swings}为0时伤害必定为0
+     * @throws IllegalArgumentException 如果{@code swings}小于0或伤害总和的最大值超出了数组的范围
+     */
+    public DamageDistribution afterSwings(final int swings)
+    {
+        if (swings < 0 || (long) swings * maxDamage() >= MAX_FFT_LENGTH)
+        {
+            throw new IllegalArgumentException("错误范围:" + swings);
+        }
+        var result = new double[]{1.0};
+        var power = probabilities;
+        //平方求幂
+        for (int remaining = swings; remaining > 0; remaining >>>= 1)
+        {
+            if ((remaining & 1) != 0)
+            {
+                result = convolve(result, power);
+            }
+            if (remaining > 1)
+            {
+                power = convolve(power, power);
+            }
+        }
+        return new DamageDistribution(result);
+    }
+
+    /**
+     * 计算这次伤害与{@code other}相互独立时, 两者之和的分布.
+     *
+     * @param other 另一个伤害分布
+     * @return 伤害之和的分布
+     * @throws IllegalArgumentException 如果伤害之和的最大值超出了数组的范围
+     * @throws NullPointerException     如果{@code other}为null
+     */
+    public DamageDistribution plus(final DamageDistribution other)
+    {
+        requireNonNull(other);
+        if ((long) maxDamage() + other.maxDamage() >= MAX_FFT_LENGTH)
+        {
+            throw new IllegalArgumentException("错误范围:" + ((long) maxDamage() + other.maxDamage()));
+        }
+        return new DamageDistribution(convolve(probabilities, other.probabilities));
+    }
+
+    /**
+     * @return 可能出现的最大伤害
+     */
+    public int maxDamage()
+    {
+        return probabilities.length - 1;
+    }
+
+    /**
+     * @param damage 伤害
+     * @return 伤害恰好等于{@code damage}的概率
+     */
+    public double probability(final int damage)
+    {
+        return damage >= 0 && damage < probabilities.length ? probabilities[damage] : 0.0;
+    }
+
+    /**
+     * 计算累积分布函数.
+     *
+     * @param damage 伤害
+     * @return 伤害小于等于{@code damage}的概率
+     */
+    public double cdf(final int damage)
+    {
+        if (damage < 0)
+        {
+            return 0.0;
+        }
+        return Math.min(1.0, cumulative[Math.min(damage, cumulative.length - 1)]);
+    }
+
+    /**
+     * 计算伤害至少为{@code damage}的概率, 例如用有效HP计算击杀概率.
+     *
+     * @param damage 伤害
+     * @return 伤害大于等于{@code damage}的概率
+     */
+    public double atLeast(final int damage)
+    {
+        return Math.max(0.0, 1.0 - cdf(damage - 1));
+    }
+
+    /**
+     * 计算分位数.
+     *
+     * @param quantile 分位, 在{@code [0, 1]}之间
+     * @return 最小的伤害d, 使得{@link #cdf(int)}不小于{@code quantile}
+     * @throws IllegalArgumentException 如果{@code quantile}不在{@code [0, 1]}之间
+     */
+    public int percentile(final double quantile)
+    {
+        if (!(quantile >= 0.0 && quantile <= 1.0))
+        {
+            throw new IllegalArgumentException("错误范围:" + quantile);
+        }
+        //舍入误差可能使最后的累积概率略小于1
+        final double target = Math.min(quantile, cumulative[cumulative.length - 1]);
+        final int index = Arrays.binarySearch(cumulative, target);
+        if (index >= 0)
+        {
+            //相同的累积概率可能出现多次, 取最小的一个
+            int first = index;
+            while (first > 0 && cumulative[first - 1] == target)
+            {
+                first--;
+            }
+            return first;
+        }
+        return -index - 1;
+    }
+
+    /**
+     * @return 伤害的期望
+     */
+    public double mean()
+    {
+        double sum = 0.0;
+        for (int damage = 1; damage < probabilities.length; damage++)
+        {
+            sum += damage * probabilities[damage];
+        }
+        return sum;
+    }
+
+    /**
+     * @return 伤害的方差
+     */
+    public double variance()
+    {
+        final double mean = mean();
+        double sum = 0.0;
+        for (int damage = 0; damage < probabilities.length; damage++)
+        {
+            final double deviation = damage - mean;
+            sum += deviation * deviation * probabilities[damage];
+        }
+        return sum;
+    }
+
+    /**
+     * @return 各伤害的概率, 第d个元素为伤害等于d的概率
+     */
+    public double[] probabilities()
+    {
+        return probabilities.clone();
+    }
+
+    private static double[] convolve(final double[] a, final double[] b)
+    {
+        if ((long) a.length * b.length <= DIRECT_THRESHOLD)
+        {
+            return convolveDirectly(a, b);
+        }
+        return convolveByFft(a, b);
+    }
+
+    static double[] convolveDirectly(final double[] a, final double[] b)
+    {
+        final var result = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++)
+        {
+            final double value = a[i];
+            if (value == 0.0)
+            {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++)
+            {
+                result[i + j] += value * b[j];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 令{@code z = a + ib}, 则{@code z * z = a * a - b * b + 2i(a * b)}, 所以一次正变换与一次逆变换就能求出
+     * {@code a}与{@code b}的卷积.
+     */
+    static double[] convolveByFft(final double[] a, final double[] b)
+    {
+        final int length = a.length + b.length - 1;
+        final int n = Integer.highestOneBit(Math.max(1, length - 1)) << 1;
+        final var real = Arrays.copyOf(a, n);
+        final var imaginary = Arrays.copyOf(b, n);
+        final var cos = new double[n >> 1];
+        final var sin = new double[n >> 1];
+        for (int k = 0; k < cos.length; k++)
+        {
+            final double angle = 2.0 * Math.PI * k / n;
+            cos[k] = Math.cos(angle);
+            sin[k] = Math.sin(angle);
+        }
+
+        fft(real, imaginary, cos, sin, false);
+        for (int k = 0; k < n; k++)
+        {
+            final double re = real[k];
+            final double im = imaginary[k];
+            real[k] = re * re - im * im;
+            imaginary[k] = 2.0 * re * im;
+        }
+        fft(real, imaginary, cos, sin, true);
+
+        final var result = new double[length];
+        for (int i = 0; i < length; i++)
+        {
+            //虚部的一半就是卷积, 舍入误差产生的负数按0处理
+            result[i] = Math.max(0.0, imaginary[i] / (2.0 * n));
+        }
+        return result;
+    }
+
+    /**
+     * 原地进行基2快速傅里叶变换, 逆变换不除以{@code n}.
+     */
+    private static void fft(final double[] real, final double[] imaginary, final double[] cos, final double[] sin,
+                            final boolean inverse)
+    {
+        final int n = real.length;
+        for (int i = 1, j = 0; i < n; i++)
+        {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1)
+            {
+                j ^= bit;
+            }
+            j ^= bit;
+            if (i < j)
+            {
+                swap(real, i, j);
+                swap(imaginary, i, j);
+            }
+        }
+
+        final double direction = inverse ? 1.0 : -1.0;
+        for (int length = 2; length <= n; length <<= 1)
+        {
+            final int half = length >> 1;
+            final int step = n / length;
+            for (int start = 0; start < n; start += length)
+            {
+                for (int k = 0; k < half; k++)
+                {
+                    final double wr = cos[k * step];
+                    final double wi = direction * sin[k * step];
+                    final int i = start + k;
+                    final int j = i + half;
+                    final double vr = real[j] * wr - imaginary[j] * wi;
+                    final double vi = real[j] * wi + imaginary[j] * wr;
+                    real[j] = real[i] - vr;
+                    imaginary[j] = imaginary[i] - vi;
+                    real[i] += vr;
+                    imaginary[i] += vi;
+                }
+            }
+        }
+    }
+
+    private static void swap(final double[] array, final int i, final int j)
+    {
+        final double temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    /**
+     * 与{@link CombatResolver}相同, 把概率限制在{@code [0, 1]}之间.
+     */
+    private static double clamp(final double probability)
+    {
+        return probability >= 1.0 ? 1.0 : probability > 0.0 ? probability : 0.0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DamageDistribution{maxDamage=" + maxDamage() + ", mean=" + mean() + '}';
+    }
+}
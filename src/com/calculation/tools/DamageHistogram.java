@@ -0,0 +1,414 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 可以被多个线程同时写入的对数分桶伤害直方图, 用于在线统计各技能的伤害分布, 不需要把原始数值传出服务器.
+ * <p>
+ * 分桶方式与 HdrHistogram 相同: 小于{@code 2^s}的值每个值一个桶, 之后每个2的幂次区间平分为{@code 2^(s-1)}个桶,
+ * {@code s}为构造时给定的有效位数. 任意值所在的桶的宽度不超过该值的{@code 2^(1-s)}, 默认的7位有效位数下
+ * 相对误差不超过{@code 1/64}, 覆盖{@code [0, Long.MAX_VALUE]}共需要3712个桶, 约29KB.
+ * <p>
+ * 每个桶是{@link AtomicLongArray}中的一个元素, {@link #record(long)}只有一次原子加, 不加锁也不分配对象.
+ * {@link #snapshotAndReset()}逐个桶取出并清零, 每个被记录的值恰好出现在一个快照中, 不会丢失或重复计数;
+ * 但与写入并发时快照不是同一时刻的, 同一线程先后记录的两个值可能分属前后两个快照.
+ * <p>
+ * 伤害同时集中在少数几个桶中, 大量线程写入同一个直方图时这几个缓存行会被争用. 争用严重时可以每个线程或每组线程
+ * 使用一个直方图, 读取时用{@link Snapshot#plus(Snapshot)}合并.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class DamageHistogram
+{
+    /**默认的有效位数*/
+    public static final int DEFAULT_SIGNIFICANT_BITS = 7;
+    /**最大的有效位数, 此时需要约11万个桶*/
+    public static final int MAX_SIGNIFICANT_BITS = 12;
+
+    private final int significantBits;
+    private final AtomicLongArray counts;
+
+    /**
+     * 使用{@value #DEFAULT_SIGNIFICANT_BITS}位有效位数创建直方图.
+     */
+    public DamageHistogram()
+    {
+        this(DEFAULT_SIGNIFICANT_BITS);
+    }
+
+    /**
+     * @param significantBits 有效位数, 在{@code [1, 12]}之间
+     * @throws IllegalArgumentException 如果{@code significantBits}不在{@code [1, 12]}之间
+     */
+    public DamageHistogram(final int significantBits)
+    {
+        if (significantBits < 1 || significantBits > MAX_SIGNIFICANT_BITS)
+        {
+            throw new IllegalArgumentException("错误范围:" + significantBits);
+        }
+        this.significantBits = significantBits;
+        this.counts = new AtomicLongArray(bucketCount(significantBits));
+    }
+
+    /**
+     * @return 有效位数
+     */
+    public int significantBits()
+    {
+        return significantBits;
+    }
+
+    /**
+     * 记录一个伤害值.
+     *
+     * @param damage 伤害, 小于0时按0记录
+     */
+    public void record(final long damage)
+    {
+        counts.getAndIncrement(index(significantBits, damage));
+    }
+
+    /**
+     * 记录一个伤害值出现了{@code count}次.
+     *
+     * @param damage 伤害, 小于0时按0记录
+     * @param count  次数
+     * @throws IllegalArgumentException 如果{@code count}小于0
+     */
+    public void record(final long damage, final long count)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException("错误范围:" + count);
+        }
+        counts.getAndAdd(index(significantBits, damage), count);
+    }
+
+    /**
+     * 记录一个伤害值, 先四舍五入到整数.
+     *
+     * @param damage 伤害, 小于0或为NaN时按0记录, 超过{@link Long#MAX_VALUE}时按{@link Long#MAX_VALUE}记录
+     */
+    public void record(final double damage)
+    {
+        //NaN转换为0, 超出范围时取long的边界
+        record((long) Math.rint(damage));
+    }
+
+    /**
+     * 记录{@code damage}从{@code offset}开始的{@code length}个伤害值, 例如
+     * {@link Value#criticalDamage(double[], double[], int[], int, int)}的结果.
+     *
+     * @param damage 伤害
+     * @param offset 开始记录的下标
+     * @param length 要记录的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+     * @throws NullPointerException      如果{@code damage}为null
+     */
+    public void record(final int[] damage, final int offset, final int length)
+    {
+        Objects.checkFromIndexSize(offset, length, damage.length);
+        for (int i = offset; i < offset + length; i++)
+        {
+            record(damage[i]);
+        }
+    }
+
+    /**
+     * 计算{@link Value#criticalDamage(double, double)}并记录结果.
+     *
+     * @param hurt        攻击者对被攻击者可以造成的的伤害
+     * @param critsEffect 攻击者的暴击效果
+     * @return 攻击者对被攻击者的暴击伤害
+     */
+    public int recordCriticalDamage(final double hurt, final double critsEffect)
+    {
+        final int damage = Value.criticalDamage(hurt, critsEffect);
+        record(damage);
+        return damage;
+    }
+
+    /**
+     * 计算{@link Value#attackerPhysicalDamage(double, double)}并记录四舍五入后的结果.
+     *
+     * @param attackerPhysicalAttack 攻击者的物理攻击
+     * @param victimArmor            被攻击者的护甲值
+     * @return 攻击者的伤害, 未经舍入
+     */
+    public double recordPhysicalDamage(final double attackerPhysicalAttack, final double victimArmor)
+    {
+        final double damage = Value.attackerPhysicalDamage(attackerPhysicalAttack, victimArmor);
+        record(damage);
+        return damage;
+    }
+
+    /**
+     * @return 当前各桶计数的快照, 不清零
+     */
+    public Snapshot snapshot()
+    {
+        final var copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++)
+        {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(significantBits, copy);
+    }
+
+    /**
+     * 取出各桶的计数并清零, 适合按固定间隔上报.
+     *
+     * @return 上次清零以来的计数
+     */
+    public Snapshot snapshotAndReset()
+    {
+        final var copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++)
+        {
+            //没有计数的桶跳过写入, 避免把只读的缓存行变为独占
+            if (counts.get(i) != 0)
+            {
+                copy[i] = counts.getAndSet(i, 0L);
+            }
+        }
+        return new Snapshot(significantBits, copy);
+    }
+
+    /**
+     * 把所有桶清零, 与{@link #snapshotAndReset()}并发写入的值可能被丢弃.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < counts.length(); i++)
+        {
+            counts.set(i, 0L);
+        }
+    }
+
+    private static int bucketCount(final int significantBits)
+    {
+        return index(significantBits, Long.MAX_VALUE) + 1;
+    }
+
+    /**
+     * @return {@code value}所在的桶, 小于{@code 2^s}时为值本身, 否则为{@code shift * 2^(s-1) + (value >>> shift)},
+     * 其中{@code value >>> shift}保留了最高的{@code s}位
+     */
+    static int index(final int significantBits, final long value)
+    {
+        if (value < (1L << significantBits))
+        {
+            return value <= 0 ? 0 : (int) value;
+        }
+        final int shift = 64 - Long.numberOfLeadingZeros(value) - significantBits;
+        return (shift << (significantBits - 1)) + (int) (value >>> shift);
+    }
+
+    /**
+     * @return 第{@code index}个桶中最小的值
+     */
+    static long lowerBound(final int significantBits, final int index)
+    {
+        final int shift = Math.max(0, (index >>> (significantBits - 1)) - 1);
+        return (long) (index - (shift << (significantBits - 1))) << shift;
+    }
+
+    /**
+     * @return 第{@code index}个桶中最大的值
+     */
+    static long upperBound(final int significantBits, final int index)
+    {
+        final int shift = Math.max(0, (index >>> (significantBits - 1)) - 1);
+        //最后一个桶的上界为Long.MAX_VALUE, 加1后溢出为Long.MIN_VALUE, 减1后恰好正确
+        return lowerBound(significantBits, index) + (1L << shift) - 1;
+    }
+
+    /**
+     * 直方图在某一时刻的不可变副本.
+     */
+    public static final class Snapshot
+    {
+        private final int significantBits;
+        private final long[] counts;
+        private final long totalCount;
+
+        private Snapshot(final int significantBits, final long[] counts)
+        {
+            this.significantBits = significantBits;
+            this.counts = counts;
+            long total = 0;
+            for (final long count : counts)
+            {
+                total += count;
+            }
+            this.totalCount = total;
+        }
+
+        /**
+         * @return 记录的值的个数
+         */
+        public long totalCount()
+        {
+            return totalCount;
+        }
+
+        /**
+         * @return 最小值所在的桶的下界; 没有样本时为0
+         */
+        public long min()
+        {
+            for (int i = 0; i < counts.length; i++)
+            {
+                if (counts[i] != 0)
+                {
+                    return lowerBound(significantBits, i);
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * @return 最大值所在的桶的上界; 没有样本时为0
+         */
+        public long max()
+        {
+            for (int i = counts.length - 1; i >= 0; i--)
+            {
+                if (counts[i] != 0)
+                {
+                    return upperBound(significantBits, i);
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * @return 以各桶的中点计算的平均值; 没有样本时为0
+         */
+        public double mean()
+        {
+            if (totalCount == 0)
+            {
+                return 0.0;
+            }
+            double sum = 0.0;
+            for (int i = 0; i < counts.length; i++)
+            {
+                if (counts[i] != 0)
+                {
+                    final double middle = ((double) lowerBound(significantBits, i)
+                            + upperBound(significantBits, i)) / 2.0;
+                    sum += middle * counts[i];
+                }
+            }
+            return sum / totalCount;
+        }
+
+        /**
+         * 计算分位数.
+         *
+         * @param quantile 分位, 在{@code [0, 1]}之间
+         * @return 最小的桶上界d, 使得伤害不超过d的比例不小于{@code quantile}; 没有样本时为0
+         * @throws IllegalArgumentException 如果{@code quantile}不在{@code [0, 1]}之间
+         */
+        public long percentile(final double quantile)
+        {
+            if (!(quantile >= 0.0 && quantile <= 1.0))
+            {
+                throw new IllegalArgumentException("错误范围:" + quantile);
+            }
+            final double target = Math.max(1.0, Math.ceil(quantile * totalCount));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++)
+            {
+                cumulative += counts[i];
+                if (cumulative >= target)
+                {
+                    return upperBound(significantBits, i);
+                }
+            }
+            return 0L;
+        }
+
+        /**
+         * @param damage 伤害
+         * @return 与{@code damage}在同一个桶中的值的个数
+         */
+        public long countAt(final long damage)
+        {
+            return counts[index(significantBits, damage)];
+        }
+
+        /**
+         * @return 桶的个数
+         */
+        public int buckets()
+        {
+            return counts.length;
+        }
+
+        /**
+         * @param bucket 桶的下标
+         * @return 桶中最小的值
+         * @throws IndexOutOfBoundsException 如果{@code bucket}超出了范围
+         */
+        public long bucketLowerBound(final int bucket)
+        {
+            Objects.checkIndex(bucket, counts.length);
+            return lowerBound(significantBits, bucket);
+        }
+
+        /**
+         * @param bucket 桶的下标
+         * @return 桶中最大的值
+         * @throws IndexOutOfBoundsException 如果{@code bucket}超出了范围
+         */
+        public long bucketUpperBound(final int bucket)
+        {
+            Objects.checkIndex(bucket, counts.length);
+            return upperBound(significantBits, bucket);
+        }
+
+        /**
+         * @return 各桶的计数, 第i个元素为第i个桶中值的个数
+         */
+        public long[] histogram()
+        {
+            return Arrays.copyOf(counts, counts.length);
+        }
+
+        /**
+         * 合并两个快照, 例如同一技能在多个线程或多个时间段中的直方图.
+         *
+         * @param other 另一个快照
+         * @return 各桶计数之和
+         * @throws IllegalArgumentException 如果两个快照的有效位数不同
+         */
+        public Snapshot plus(final Snapshot other)
+        {
+            if (other.significantBits != significantBits)
+            {
+                throw new IllegalArgumentException("错误范围:" + other.significantBits);
+            }
+            final var sum = new long[counts.length];
+            for (int i = 0; i < sum.length; i++)
+            {
+                sum[i] = counts[i] + other.counts[i];
+            }
+            return new Snapshot(significantBits, sum);
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Snapshot[count=" + totalCount + ", min=" + min() + ", p50=" + percentile(0.5)
+                    + ", p99=" + percentile(0.99) + ", max=" + max() + "]";
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.calculation.tools;
+
+import java.util.Arrays;
+
+/**
+ * {@link Simulation}的统计结果: 双方的胜率, 平局率以及击杀所需回合数的分布.
+ * <p>
+ * 胜率的置信区间使用 Wilson 区间, 在胜率接近0或1以及样本较少时也不会超出{@code [0, 1]};
+ * 平均击杀回合数的置信区间使用正态近似. 两者都需要给出标准正态分布的分位数{@code z},
+ * 常用的值为{@link #Z_95}和{@link #Z_99}.
+ * <p>
+ * 这个类是不可变的, 可以在多个线程之间共享.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class DuelStatistics
+{
+    /**95%置信度对应的标准正态分布分位数*/
+    public static final double Z_95 = 1.959963984540054;
+    /**99%置信度对应的标准正态分布分位数*/
+    public static final double Z_99 = 2.5758293035489004;
+
+    private final long duels;
+    private final long draws;
+    private final Distribution firstTimeToKill;
+    private final Distribution secondTimeToKill;
+
+    /**
+     * @param draws            达到回合上限仍未分出胜负的次数
+     * @param firstTimeToKill  先手获胜的对决中, 第i个元素为在第i回合获胜的次数, 不会被复制
+     * @param secondTimeToKill 后手获胜的对决中, 第i个元素为在第i回合获胜的次数, 不会被复制
+     */
+    DuelStatistics(final long draws, final long[] firstTimeToKill, final long[] secondTimeToKill)
+    {
+        this.firstTimeToKill = new Distribution(firstTimeToKill);
+        this.secondTimeToKill = new Distribution(secondTimeToKill);
+        this.draws = draws;
+        this.duels = draws + this.firstTimeToKill.count() + this.secondTimeToKill.count();
+    }
+
+    /**
+     * @return 对决的总次数
+     */
+    public long duels()
+    {
+        return duels;
+    }
+
+    /**
+     * @return 先手获胜的次数
+     */
+    public long firstWins()
+    {
+        return firstTimeToKill.count();
+    }
+
+    /**
+     * @return 后手获胜的次数
+     */
+    public long secondWins()
+    {
+        return secondTimeToKill.count();
+    }
+
+    /**
+     * @return 达到回合上限仍未分出胜负的次数
+     */
+    public long draws()
+    {
+        return draws;
+    }
+
+    /**
+     * @return 先手的胜率, 没有进行对决时为NaN
+     */
+    public double firstWinRate()
+    {
+        return (double) firstWins() / duels;
+    }
+
+    /**
+     * @return 后手的胜率, 没有进行对决时为NaN
+     */
+    public double secondWinRate()
+    {
+        return (double) secondWins() / duels;
+    }
+
+    /**
+     * @return 平局率, 没有进行对决时为NaN
+     */
+    public double drawRate()
+    {
+        return (double) draws / duels;
+    }
+
+    /**
+     * 计算先手胜率的 Wilson 置信区间.
+     *
+     * @param z 标准正态分布的分位数, 例如{@link #Z_95}
+     * @return 先手胜率的置信区间, 没有进行对决时为{@code [0, 1]}
+     */
+    public Interval firstWinRateInterval(final double z)
+    {
+        return wilson(firstWins(), duels, z);
+    }
+
+    /**
+     * 计算后手胜率的 Wilson 置信区间.
+     *
+     * @param z 标准正态分布的分位数, 例如{@link #Z_95}
+     * @return 后手胜率的置信区间, 没有进行对决时为{@code [0, 1]}
+     */
+    public Interval secondWinRateInterval(final double z)
+    {
+        return wilson(secondWins(), duels, z);
+    }
+
+    /**
+     * @return 先手获胜的对决中, 先手击杀后手所用回合数的分布
+     */
+    public Distribution firstTimeToKill()
+    {
+        return firstTimeToKill;
+    }
+
+    /**
+     * @return 后手获胜的对决中, 后手击杀先手所用回合数的分布
+     */
+    public Distribution secondTimeToKill()
+    {
+        return secondTimeToKill;
+    }
+
+    private static Interval wilson(final long successes, final long trials, final double z)
+    {
+        if (trials == 0)
+        {
+            return new Interval(0.0, 1.0);
+        }
+        final double n = trials;
+        final double p = successes / n;
+        final double z2 = z * z;
+        final double denominator = 1.0 + z2 / n;
+        final double center = (p + z2 / (2.0 * n)) / denominator;
+        final double halfWidth = z * Math.sqrt(p * (1.0 - p) / n + z2 / (4.0 * n * n)) / denominator;
+        return new Interval(Math.max(0.0, center - halfWidth), Math.min(1.0, center + halfWidth));
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DuelStatistics{duels=" + duels + ", firstWins=" + firstWins() + ", secondWins=" + secondWins()
+                + ", draws=" + draws + '}';
+    }
+
+    /**
+     * 置信区间.
+     *
+     * @param lower 下界
+     * @param upper 上界
+     * @author 留恋千年
+     * @version 1.0.0
+     * @since 2026-10-16
+     */
+    public record Interval(double lower, double upper)
+    {
+    }
+
+    /**
+     * 击杀所需回合数的分布, 回合数从1开始.
+     *
+     * @author 留恋千年
+     * @version 1.0.0
+     * @since 2026-10-16
+     */
+    public static final class Distribution
+    {
+        /**counts[i]为用了i回合的次数, counts[0]总是0*/
+        private final long[] counts;
+        private final long count;
+        private final double mean;
+        private final double variance;
+
+        private Distribution(final long[] counts)
+        {
+            this.counts = counts;
+
+            long total = 0;
+            double sum = 0.0;
+            for (int round = 1; round < counts.length; round++)
+            {
+                total += counts[round];
+                sum += (double) round * counts[round];
+            }
+            this.count = total;
+            this.mean = sum / total;
+
+            //先求平均值再求方差, 避免平方和相减带来的精度损失
+            double squares = 0.0;
+            for (int round = 1; round < counts.length; round++)
+            {
+                final double deviation = round - mean;
+                squares += deviation * deviation * counts[round];
+            }
+            this.variance = total > 1 ? squares / (total - 1) : 0.0;
+        }
+
+        /**
+         * @return 样本数
+         */
+        public long count()
+        {
+            return count;
+        }
+
+        /**
+         * @param round 回合数
+         * @return 恰好用了{@code round}回合的次数, 超出范围时为0
+         */
+        public long count(final int round)
+        {
+            return round > 0 && round < counts.length ? counts[round] : 0;
+        }
+
+        /**
+         * @return 平均回合数, 没有样本时为NaN
+         */
+        public double mean()
+        {
+            return mean;
+        }
+
+        /**
+         * @return 回合数的样本标准差
+         */
+        public double standardDeviation()
+        {
+            return Math.sqrt(variance);
+        }
+
+        /**
+         * 计算平均回合数的置信区间(正态近似).
+         *
+         * @param z 标准正态分布的分位数, 例如{@link DuelStatistics#Z_95}
+         * @return 平均回合数的置信区间, 没有样本时上下界都为NaN
+         */
+        public Interval meanInterval(final double z)
+        {
+            final double halfWidth = z * Math.sqrt(variance / count);
+            return new Interval(mean - halfWidth, mean + halfWidth);
+        }
+
+        /**
+         * 计算分位数.
+         *
+         * @param quantile 分位, 在{@code [0, 1]}之间
+         * @return 最小的回合数r, 使得用时不超过r回合的比例不小于{@code quantile}; 没有样本时为0
+         * @throws IllegalArgumentException 如果{@code quantile}不在{@code [0, 1]}之间
+         */
+        public int percentile(final double quantile)
+        {
+            if (!(quantile >= 0.0 && quantile <= 1.0))
+            {
+                throw new IllegalArgumentException("错误范围:" + quantile);
+            }
+            final double target = Math.max(1.0, Math.ceil(quantile * count));
+            long cumulative = 0;
+            for (int round = 1; round < counts.length; round++)
+            {
+                cumulative += counts[round];
+                if (cumulative >= target)
+                {
+                    return round;
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return 各回合数出现的次数, 第i个元素为用了i回合的次数
+         */
+        public long[] histogram()
+        {
+            return Arrays.copyOf(counts, counts.length);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static java.util.Objects.checkIndex;
+
+/**
+ * 按列存放大量实体战斗属性的表, 每个属性是一个基本类型数组.
+ * <p>
+ * 每个实体插入时分配一个不变的整数id, id从0开始并且会被复用, 所以id总是稠密的. 实体的数据存放在从0开始连续的行中,
+ * 删除实体时把最后一行移动到被删除的行上, 所以任何时候{@code [0, size())}之间的行都是有效的,
+ * 可以直接把列数组交给{@link Value}中的批量方法, 例如{@link #victimEffectiveHp(double[])}.
+ * 删除较多后行的顺序会被打乱, {@link #compact()}按id重新排列行并释放多余的空间.
+ * <p>
+ * 与每个实体一个{@link StatBlock}相比, 每个实体只占用约72字节(不计扩容预留的空间), 并且扫描一列时是连续的内存访问.
+ * <p>
+ * 这个类不是线程安全的. 没有线程修改时, 多个线程可以同时读取.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class EntityStatTable
+{
+    /**整数属性*/
+    public enum IntStat
+    {
+        /**HP*/
+        HP,
+        /**命中*/
+        HIT,
+        /**闪避*/
+        EVADE,
+        /**暴击*/
+        CRIT,
+        /**暴击抗性*/
+        RESISTANCE,
+        /**伤害浮动的整数范围*/
+        FLOATING_INT_RANGE
+    }
+
+    /**浮点数属性*/
+    public enum DoubleStat
+    {
+        /**物理攻击*/
+        PHYSICAL_ATTACK,
+        /**护甲值*/
+        ARMOR,
+        /**伤害减免率*/
+        DAMAGE_REDUCTION,
+        /**闪避概率*/
+        EVADE_CHANCE,
+        /**暴击效果*/
+        CRITS_EFFECT
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final IntStat[] INT_STATS = IntStat.values();
+    private static final DoubleStat[] DOUBLE_STATS = DoubleStat.values();
+
+    private final int[][] intColumns = new int[INT_STATS.length][];
+    private final double[][] doubleColumns = new double[DOUBLE_STATS.length][];
+    /**rowToId[row]为这一行的实体id*/
+    private int[] rowToId;
+    /**idToRow[id]为实体所在的行, 未使用的id为-1*/
+    private int[] idToRow;
+    /**可以复用的id*/
+    private int[] freeIds = new int[0];
+    private int freeCount;
+    private int size;
+
+    /**
+     * 创建一个空表.
+     */
+    public EntityStatTable()
+    {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 创建一个空表.
+     *
+     * @param initialCapacity 初始容量
+     * @throws IllegalArgumentException 如果{@code initialCapacity}小于0
+     */
+    public EntityStatTable(final int initialCapacity)
+    {
+        if (initialCapacity < 0)
+        {
+            throw new IllegalArgumentException("错误范围:" + initialCapacity);
+        }
+        for (int i = 0; i < intColumns.length; i++)
+        {
+            intColumns[i] = new int[initialCapacity];
+        }
+        for (int i = 0; i < doubleColumns.length; i++)
+        {
+            doubleColumns[i] = new double[initialCapacity];
+        }
+        rowToId = new int[initialCapacity];
+        idToRow = new int[0];
+    }
+
+    /**
+     * @return 实体的个数, 也就是有效的行数
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * 插入一个实体.
+     *
+     * @param block 实体的属性
+     * @return 分配给实体的id
+     * @throws NullPointerException 如果{@code block}为null
+     */
+    public int insert(final StatBlock block)
+    {
+        final int row = size;
+        ensureCapacity(row + 1);
+        final int id = freeCount > 0 ? freeIds[--freeCount] : newId();
+        idToRow[id] = row;
+        rowToId[row] = id;
+        size++;
+
+        intColumns[IntStat.HP.ordinal()][row] = block.hp();
+        intColumns[IntStat.HIT.ordinal()][row] = block.hit();
+        intColumns[IntStat.EVADE.ordinal()][row] = block.evade();
+        intColumns[IntStat.CRIT.ordinal()][row] = block.crit();
+        intColumns[IntStat.RESISTANCE.ordinal()][row] = block.resistance();
+        intColumns[IntStat.FLOATING_INT_RANGE.ordinal()][row] = block.floatingIntRange();
+        doubleColumns[DoubleStat.PHYSICAL_ATTACK.ordinal()][row] = block.physicalAttack();
+        doubleColumns[DoubleStat.ARMOR.ordinal()][row] = block.armor();
+        doubleColumns[DoubleStat.DAMAGE_REDUCTION.ordinal()][row] = block.damageReduction();
+        doubleColumns[DoubleStat.EVADE_CHANCE.ordinal()][row] = block.evadeChance();
+        doubleColumns[DoubleStat.CRITS_EFFECT.ordinal()][row] = block.critsEffect();
+        return id;
+    }
+
+    /**
+     * 删除一个实体, 最后一行会被移动到这个实体所在的行.
+     *
+     * @param id 实体的id
+     * @throws NoSuchElementException 如果不存在这个id
+     */
+    public void remove(final int id)
+    {
+        final int row = row(id);
+        final int last = --size;
+        if (row != last)
+        {
+            for (final var column : intColumns)
+            {
+                column[row] = column[last];
+            }
+            for (final var column : doubleColumns)
+            {
+                column[row] = column[last];
+            }
+            final int movedId = rowToId[last];
+            rowToId[row] = movedId;
+            idToRow[movedId] = row;
+        }
+        idToRow[id] = -1;
+        pushFreeId(id);
+    }
+
+    /**
+     * @param id 实体的id
+     * @return 如果存在这个id就返回{@code true}
+     */
+    public boolean contains(final int id)
+    {
+        return id >= 0 && id < idToRow.length && idToRow[id] >= 0;
+    }
+
+    /**
+     * @param id 实体的id
+     * @return 实体当前所在的行, 删除其他实体或{@link #compact()}后可能改变
+     * @throws NoSuchElementException 如果不存在这个id
+     */
+    public int row(final int id)
+    {
+        if (!contains(id))
+        {
+            throw new NoSuchElementException("不存在的id:" + id);
+        }
+        return idToRow[id];
+    }
+
+    /**
+     * @param row 行
+     * @return 这一行的实体id
+     * @throws IndexOutOfBoundsException 如果{@code row}不在{@code [0, size())}之间
+     */
+    public int id(final int row)
+    {
+        return rowToId[checkIndex(row, size)];
+    }
+
+    /**
+     * @param id   实体的id
+     * @param stat 属性
+     * @return 实体的属性值
+     * @throws NoSuchElementException 如果不存在这个id
+     */
+    public int get(final int id, final IntStat stat)
+    {
+        return intColumns[stat.ordinal()][row(id)];
+    }
+
+    /**
+     * @param id   实体的id
+     * @param stat 属性
+     * @return 实体的属性值
+     * @throws NoSuchElementException 如果不存在这个id
+     */
+    public double get(final int id, final DoubleStat stat)
+    {
+        return doubleColumns[stat.ordinal()][row(id)];
+    }
+
+    /**
+     * @param id    实体的id
+     * @param stat  属性
+     * @param value 新的属性值
+     * @throws NoSuchElementException 如果不存在这个id
+     */
+    public void set(final int id, final IntStat stat, final int value)
+    {
+        intColumns[stat.ordinal()][row(id)] = value;
+    }
+
+    /**
+     * @param id    实体的id
+     * @param stat  属性
+     * @param value 新的属性值
+     * @throws NoSuchElementException 如果不存在这个id
+     */
+    public void set(final int id, final DoubleStat stat, final double value)
+    {
+        doubleColumns[stat.ordinal()][row(id)] = value;
+    }
+
+    /**
+     * @param id 实体的id
+     * @return 实体属性的副本
+     * @throws NoSuchElementException   如果不存在这个id
+     * @throws IllegalArgumentException 如果表中的HP或伤害浮动范围不是{@link StatBlock}允许的值
+     */
+    public StatBlock toStatBlock(final int id)
+    {
+        final int row = row(id);
+        return StatBlock.builder()
+                .hp(intColumns[IntStat.HP.ordinal()][row])
+                .hit(intColumns[IntStat.HIT.ordinal()][row])
+                .evade(intColumns[IntStat.EVADE.ordinal()][row])
+                .crit(intColumns[IntStat.CRIT.ordinal()][row])
+                .resistance(intColumns[IntStat.RESISTANCE.ordinal()][row])
+                .floatingIntRange(intColumns[IntStat.FLOATING_INT_RANGE.ordinal()][row])
+                .physicalAttack(doubleColumns[DoubleStat.PHYSICAL_ATTACK.ordinal()][row])
+                .armor(doubleColumns[DoubleStat.ARMOR.ordinal()][row])
+                .damageReduction(doubleColumns[DoubleStat.DAMAGE_REDUCTION.ordinal()][row])
+                .evadeChance(doubleColumns[DoubleStat.EVADE_CHANCE.ordinal()][row])
+                .critsEffect(doubleColumns[DoubleStat.CRITS_EFFECT.ordinal()][row])
+                .build();
+    }
+
+    /**
+     * 返回一列的底层数组, 第{@code row}个元素为第{@code row}行的属性值, 只有{@code [0, size())}之间的元素有效.
+     * <p>
+     * 返回的数组不是副本, 可以直接读写, 也可以交给{@link Value}中的批量方法. 插入使表扩容或调用{@link #compact()}后
+     * 数组会被替换, 需要重新获取.
+     *
+     * @param stat 属性
+     * @return 这一列的底层数组
+     */
+    public int[] column(final IntStat stat)
+    {
+        return intColumns[stat.ordinal()];
+    }
+
+    /**
+     * 返回一列的底层数组, 说明见{@link #column(IntStat)}.
+     *
+     * @param stat 属性
+     * @return 这一列的底层数组
+     */
+    public double[] column(final DoubleStat stat)
+    {
+        return doubleColumns[stat.ordinal()];
+    }
+
+    /**
+     * 用{@link Value#victimEffectiveHp(int[], double[], double[], double[], int, int)}计算所有实体的有效HP.
+     *
+     * @param out 存放有效HP的数组, 第{@code row}个元素为第{@code row}行的有效HP
+     * @throws IndexOutOfBoundsException 如果{@code out}的长度小于{@link #size()}
+     */
+    public void victimEffectiveHp(final double[] out)
+    {
+        Value.victimEffectiveHp(column(IntStat.HP), column(DoubleStat.DAMAGE_REDUCTION),
+                column(DoubleStat.EVADE_CHANCE), out, 0, size);
+    }
+
+    /**
+     * 按id从小到大重新排列所有行, 并释放多余的空间.
+     * <p>
+     * 大量删除后行的顺序与插入顺序无关, 按id排列可以恢复相邻实体在内存中相邻的布局.
+     * 实体的id不会改变, 但所在的行会改变.
+     */
+    public void compact()
+    {
+        final var newRowToId = new int[size];
+        int row = 0;
+        int maxId = -1;
+        for (int id = 0; id < idToRow.length; id++)
+        {
+            if (idToRow[id] >= 0)
+            {
+                newRowToId[row++] = id;
+                maxId = id;
+            }
+        }
+
+        for (int i = 0; i < intColumns.length; i++)
+        {
+            final var column = intColumns[i];
+            final var compacted = new int[size];
+            for (int r = 0; r < size; r++)
+            {
+                compacted[r] = column[idToRow[newRowToId[r]]];
+            }
+            intColumns[i] = compacted;
+        }
+        for (int i = 0; i < doubleColumns.length; i++)
+        {
+            final var column = doubleColumns[i];
+            final var compacted = new double[size];
+            for (int r = 0; r < size; r++)
+            {
+                compacted[r] = column[idToRow[newRowToId[r]]];
+            }
+            doubleColumns[i] = compacted;
+        }
+
+        //大于最大有效id的id不再需要保留
+        idToRow = Arrays.copyOf(idToRow, maxId + 1);
+        for (int r = 0; r < size; r++)
+        {
+            idToRow[newRowToId[r]] = r;
+        }
+        rowToId = newRowToId;
+
+        freeIds = new int[maxId + 1 - size];
+        freeCount = 0;
+        for (int id = maxId; id >= 0; id--)
+        {
+            if (idToRow[id] < 0)
+            {
+                freeIds[freeCount++] = id;
+            }
+        }
+    }
+
+    private void ensureCapacity(final int capacity)
+    {
+        if (capacity <= rowToId.length)
+        {
+            return;
+        }
+        final int newCapacity = Math.max(capacity, Math.max(DEFAULT_CAPACITY, rowToId.length + (rowToId.length >> 1)));
+        for (int i = 0; i < intColumns.length; i++)
+        {
+            intColumns[i] = Arrays.copyOf(intColumns[i], newCapacity);
+        }
+        for (int i = 0; i < doubleColumns.length; i++)
+        {
+            doubleColumns[i] = Arrays.copyOf(doubleColumns[i], newCapacity);
+        }
+        rowToId = Arrays.copyOf(rowToId, newCapacity);
+    }
+
+    /**
+     * 分配一个从未使用过的id, 调用前必须保证没有可以复用的id.
+     */
+    private int newId()
+    {
+        final int id = idToRow.length;
+        idToRow = Arrays.copyOf(idToRow, Math.max(DEFAULT_CAPACITY, id + (id >> 1)));
+        Arrays.fill(idToRow, id, idToRow.length, -1);
+        //新扩展出的id都可以使用, 从大到小压栈使小的id先被使用
+        for (int free = idToRow.length - 1; free > id; free--)
+        {
+            pushFreeId(free);
+        }
+        return id;
+    }
+
+    private void pushFreeId(final int id)
+    {
+        if (freeCount == freeIds.length)
+        {
+            freeIds = Arrays.copyOf(freeIds, Math.max(DEFAULT_CAPACITY, freeCount << 1));
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "EntityStatTable{size=" + size + ", capacity=" + rowToId.length + '}';
+    }
+}
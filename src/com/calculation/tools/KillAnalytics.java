@@ -0,0 +1,149 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 用解析方法估计击杀所需的攻击次数与每秒伤害, 不需要抽样, 适合在匹配和界面提示中频繁调用.
+ * <p>
+ * 每次攻击的伤害与{@link Simulation}中的规则相同: 未命中时为0, 命中或暴击时为
+ * {@link Value#criticalDamage(double, double)}加上{@code [-floatingIntRange, floatingIntRange]}上均匀分布的浮动值,
+ * 小于0时按0计算. 这里直接求出这个离散分布的均值与方差, 所以和
+ * {@link Value#expectedSwingDamage(int, int, int, int, double, double, double)}相比多考虑了四舍五入与下限0.
+ * 被攻击者的有效HP由{@link Value#victimEffectiveHp(int, double, double)}计算, 只计伤害减免,
+ * 因为闪避已经体现在命中几率中.
+ * <p>
+ * 结果只取决于双方的部分属性, 按这些属性缓存在一个{@link ConcurrentHashMap}中,
+ * 缓存的条目数超过{@value #MAX_CACHED}时整体清空.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ * @see KillEstimate
+ */
+public final class KillAnalytics
+{
+    /**缓存的最大条目数*/
+    static final int MAX_CACHED = 1 << 16;
+
+    private static final ConcurrentMap<Key, KillEstimate> CACHE = new ConcurrentHashMap<>();
+
+    private KillAnalytics()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 估计{@code attacker}击杀{@code victim}所需的攻击次数, 结果会被缓存.
+     *
+     * @param attacker 攻击者
+     * @param victim   被攻击者
+     * @return 估计值
+     * @throws NullPointerException 如果任意一个参数为null
+     */
+    public static KillEstimate estimate(final StatBlock attacker, final StatBlock victim)
+    {
+        final var key = new Key(attacker, victim);
+        final var cached = CACHE.get(key);
+        if (cached != null)
+        {
+            return cached;
+        }
+        if (CACHE.size() >= MAX_CACHED)
+        {
+            CACHE.clear();
+        }
+        //计算过程没有副作用, 多个线程同时计算同一个键时保留先放入的结果即可, 不需要在computeIfAbsent中加锁
+        final var estimate = compute(attacker, victim);
+        final var previous = CACHE.putIfAbsent(key, estimate);
+        return previous == null ? estimate : previous;
+    }
+
+    /**
+     * 清空缓存.
+     */
+    public static void clearCache()
+    {
+        CACHE.clear();
+    }
+
+    /**
+     * 不使用缓存, 直接估计{@code attacker}击杀{@code victim}所需的攻击次数.
+     *
+     * @param attacker 攻击者
+     * @param victim   被攻击者
+     * @return 估计值
+     * @throws NullPointerException 如果任意一个参数为null
+     */
+    public static KillEstimate compute(final StatBlock attacker, final StatBlock victim)
+    {
+        final var matchup = attacker.against(victim);
+        final double hitRate = clamp(matchup.hitRate());
+        final double critChance = clamp(matchup.critChance());
+        final double hurt = matchup.physicalDamage();
+        final int range = attacker.floatingIntRange();
+
+        final int normal = Value.normalDamage(hurt);
+        final int critical = Value.criticalDamage(hurt, attacker.critsEffect());
+        final double normalWeight = hitRate * (1.0 - critChance);
+        final double criticalWeight = hitRate * critChance;
+
+        final double mean = normalWeight * positiveSum(normal, range, 1)
+                + criticalWeight * positiveSum(critical, range, 1);
+        final double square = normalWeight * positiveSum(normal, range, 2)
+                + criticalWeight * positiveSum(critical, range, 2);
+        final double variance = Math.max(0.0, square - mean * mean);
+
+        final double effectiveHp = Value.victimEffectiveHp(victim.hp(), victim.damageReduction(), 0.0);
+        return new KillEstimate(effectiveHp, mean, variance);
+    }
+
+    /**
+     * 计算{@code max(0, base + U)}的一阶或二阶矩, U在{@code [-range, range]}的整数上均匀分布.
+     */
+    private static double positiveSum(final int base, final int range, final int moment)
+    {
+        final double high = (double) base + range;
+        if (high < 1.0)
+        {
+            return 0.0;
+        }
+        //小于等于0的值对矩没有贡献, 只对[low, high]上的整数求和
+        final double low = Math.max(1.0, (double) base - range);
+        final double sum = moment == 1 ? (low + high) * (high - low + 1.0) / 2.0
+                : squareSum(high) - squareSum(low - 1.0);
+        return sum / (2.0 * range + 1.0);
+    }
+
+    /**
+     * @return {@code 1² + 2² + ... + n²}
+     */
+    private static double squareSum(final double n)
+    {
+        return n * (n + 1.0) * (2.0 * n + 1.0) / 6.0;
+    }
+
+    /**
+     * 与{@link CombatResolver}相同, 把概率限制在{@code [0, 1]}之间.
+     */
+    private static double clamp(final double probability)
+    {
+        return probability >= 1.0 ? 1.0 : probability > 0.0 ? probability : 0.0;
+    }
+
+    /**
+     * 缓存的键, 只包含影响结果的属性.
+     */
+    private record Key(int hit, int crit, double physicalAttack, double critsEffect, int floatingIntRange,
+                       int hp, int evade, int resistance, double armor, double damageReduction)
+    {
+        private Key(final StatBlock attacker, final StatBlock victim)
+        {
+            this(attacker.hit(), attacker.crit(), attacker.physicalAttack(), attacker.critsEffect(),
+                    attacker.floatingIntRange(), victim.hp(), victim.evade(), victim.resistance(), victim.armor(),
+                    victim.damageReduction());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.calculation.tools;
+
+/**
+ * 一方持续攻击另一方时, 不经过抽样直接计算出的击杀所需攻击次数的估计值.
+ * <p>
+ * 设每次攻击的伤害相互独立, 均值为{@code μ}, 方差为{@code σ²}, 被攻击者的有效HP为{@code H}.
+ * 击杀所需的攻击次数{@code N}是伤害总和首次达到{@code H}的次数, 按更新过程的渐近公式估计:
+ * <ul>
+ *     <li>{@code E[N] ≈ H / μ + (σ² + μ²) / (2μ²)}</li>
+ *     <li>{@code Var[N] ≈ H * σ² / μ³}</li>
+ *     <li>{@code P(N ≤ n) = P(S_n ≥ H)}, 其中{@code S_n}按中心极限定理用正态分布近似</li>
+ * </ul>
+ * {@code H}相对于单次伤害越大, 估计值越准确. 需要精确结果时请使用{@link Simulation}.
+ * <p>
+ * 这个类是不可变的, 可以在多个线程之间共享.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class KillEstimate
+{
+    private final double effectiveHp;
+    private final double swingDamage;
+    private final double swingDamageVariance;
+
+    /**
+     * @param effectiveHp         被攻击者的有效HP
+     * @param swingDamage         每次攻击伤害的期望
+     * @param swingDamageVariance 每次攻击伤害的方差
+     */
+    KillEstimate(final double effectiveHp, final double swingDamage, final double swingDamageVariance)
+    {
+        this.effectiveHp = effectiveHp;
+        this.swingDamage = swingDamage;
+        this.swingDamageVariance = swingDamageVariance;
+    }
+
+    /**
+     * @return 被攻击者的有效HP(只计伤害减免, 闪避已经体现在每次攻击的期望伤害中)
+     */
+    public double effectiveHp()
+    {
+        return effectiveHp;
+    }
+
+    /**
+     * @return 每次攻击伤害的期望, 包括未命中与暴击
+     */
+    public double swingDamage()
+    {
+        return swingDamage;
+    }
+
+    /**
+     * @return 每次攻击伤害的方差
+     */
+    public double swingDamageVariance()
+    {
+        return swingDamageVariance;
+    }
+
+    /**
+     * @param attacksPerSecond 每秒的攻击次数
+     * @return 每秒伤害的期望
+     */
+    public double damagePerSecond(final double attacksPerSecond)
+    {
+        return swingDamage * attacksPerSecond;
+    }
+
+    /**
+     * @return 击杀所需攻击次数的期望, 无法造成伤害时为正无穷
+     */
+    public double expectedSwings()
+    {
+        if (swingDamage <= 0.0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        return effectiveHp / swingDamage + (swingDamageVariance + swingDamage * swingDamage)
+                / (2.0 * swingDamage * swingDamage);
+    }
+
+    /**
+     * @return 击杀所需攻击次数的方差, 无法造成伤害时为正无穷
+     */
+    public double swingsVariance()
+    {
+        if (swingDamage <= 0.0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        return effectiveHp * swingDamageVariance / (swingDamage * swingDamage * swingDamage);
+    }
+
+    /**
+     * @param attacksPerSecond 每秒的攻击次数
+     * @return 击杀所需时间(秒)的期望
+     */
+    public double expectedSeconds(final double attacksPerSecond)
+    {
+        return expectedSwings() / attacksPerSecond;
+    }
+
+    /**
+     * 计算在{@code swings}次攻击之内(包含)击杀被攻击者的概率.
+     *
+     * @param swings 攻击次数
+     * @return 击杀概率, {@code swings}小于等于0时为0
+     */
+    public double killProbability(final int swings)
+    {
+        if (swings <= 0 || swingDamage <= 0.0)
+        {
+            return 0.0;
+        }
+        final double mean = swings * swingDamage;
+        if (swingDamageVariance <= 0.0)
+        {
+            return mean >= effectiveHp ? 1.0 : 0.0;
+        }
+        return normalTail((effectiveHp - mean) / Math.sqrt(swings * swingDamageVariance));
+    }
+
+    /**
+     * 计算击杀概率首次达到{@code probability}所需的攻击次数.
+     *
+     * @param probability 击杀概率, 在{@code (0, 1)}之间
+     * @return 最小的{@code n}使得{@link #killProbability(int)}不小于{@code probability}, 无法造成伤害时为
+     * {@link Integer#MAX_VALUE}
+     * @throws IllegalArgumentException 如果{@code probability}不在{@code (0, 1)}之间
+     */
+    public int swingsToKill(final double probability)
+    {
+        if (!(probability > 0.0 && probability < 1.0))
+        {
+            throw new IllegalArgumentException("错误范围:" + probability);
+        }
+        if (swingDamage <= 0.0)
+        {
+            return Integer.MAX_VALUE;
+        }
+        //killProbability随攻击次数单调不减, 从期望值附近开始二分查找
+        int low = 0;
+        int high = (int) Math.min(Integer.MAX_VALUE, Math.max(1.0, 2.0 * Math.ceil(expectedSwings())));
+        while (high < Integer.MAX_VALUE && killProbability(high) < probability)
+        {
+            low = high;
+            high = (int) Math.min(Integer.MAX_VALUE, 2L * high);
+        }
+        while (high - low > 1)
+        {
+            final int middle = (low + high) >>> 1;
+            if (killProbability(middle) >= probability)
+            {
+                high = middle;
+            }
+            else
+            {
+                low = middle;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * 计算{@code P(Z > x)}, Z服从标准正态分布.
+     * <p>
+     * 使用 Numerical Recipes 中的{@code erfc}切比雪夫近似, 相对误差小于{@code 1.2e-7}.
+     */
+    static double normalTail(final double x)
+    {
+        final double z = Math.abs(x) / Math.sqrt(2.0);
+        final double t = 1.0 / (1.0 + 0.5 * z);
+        final double erfc = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196
+                + t * (0.09678418 + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398
+                + t * (1.48851973 + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0.0 ? 0.5 * erfc : 1.0 - 0.5 * erfc;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "KillEstimate{effectiveHp=" + effectiveHp + ", swingDamage=" + swingDamage
+                + ", swingDamageVariance=" + swingDamageVariance + '}';
+    }
+}
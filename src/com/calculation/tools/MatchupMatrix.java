@@ -0,0 +1,262 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * 计算N个攻击者对M个被攻击者的命中几率, 暴击概率与每次攻击的期望伤害矩阵.
+ * <p>
+ * 三个矩阵都按行存放在调用者提供的一维数组中, 第{@code a}个攻击者对第{@code v}个被攻击者的结果位于下标
+ * {@code a * M + v}, 见{@link #index(int, int, int)}. 每个元素分别与{@link Value#attackHitRate(int, int)},
+ * {@link Value#attackerCritChance(int, int)}和
+ * {@link Value#expectedSwingDamage(int, int, int, int, double, double, double)}的结果逐位相同.
+ * <p>
+ * 矩阵被切成{@value #ATTACKER_TILE}行 × {@value #VICTIM_TILE}列的块, 每块中被攻击者的三列数据
+ * (每个被攻击者16字节, 共32KB)在L1/L2缓存中被这些行反复读取, 攻击者的数值在一行中广播,
+ * 结果按连续的下标写入. 各块互不重叠, 在{@link ForkJoinPool}中并行计算, 结果与线程数无关.
+ * {@code jdk.incubator.vector}模块存在时每行使用向量实现.
+ * <p>
+ * 10000 × 10000的三个矩阵共需要约2.4GB内存, 数组的长度也不能超过{@link Integer#MAX_VALUE},
+ * 更大的规模需要调用者按被攻击者分批计算.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class MatchupMatrix
+{
+    /**每块的攻击者数*/
+    static final int ATTACKER_TILE = 64;
+    /**每块的被攻击者数*/
+    static final int VICTIM_TILE = 2048;
+
+    private MatchupMatrix()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param attacker 攻击者在表中的行
+     * @param victim   被攻击者在表中的行
+     * @param victims  被攻击者的个数M
+     * @return 结果在矩阵数组中的下标
+     */
+    public static int index(final int attacker, final int victim, final int victims)
+    {
+        return attacker * victims + victim;
+    }
+
+    /**
+     * 在{@link ForkJoinPool#commonPool()}中计算{@code attackers}中所有实体对{@code victims}中所有实体的矩阵.
+     *
+     * @param attackers      攻击者
+     * @param victims        被攻击者
+     * @param hitRate        存放命中几率的数组
+     * @param critChance     存放暴击概率的数组
+     * @param expectedDamage 存放每次攻击的期望伤害的数组
+     * @throws IllegalArgumentException  如果矩阵的元素个数超过了{@link Integer#MAX_VALUE}
+     * @throws IndexOutOfBoundsException 如果任意一个数组的长度小于矩阵的元素个数
+     * @throws NullPointerException      如果任意一个参数为null
+     * @see #compute(ForkJoinPool, EntityStatTable, EntityStatTable, double[], double[], double[])
+     */
+    public static void compute(final EntityStatTable attackers, final EntityStatTable victims,
+                               final double[] hitRate, final double[] critChance, final double[] expectedDamage)
+    {
+        compute(ForkJoinPool.commonPool(), attackers, victims, hitRate, critChance, expectedDamage);
+    }
+
+    /**
+     * 在给定的线程池中计算{@code attackers}中所有实体对{@code victims}中所有实体的矩阵,
+     * 矩阵的第{@code a}行对应{@code attackers}的第{@code a}行, 第{@code v}列对应{@code victims}的第{@code v}行.
+     * 两个参数可以是同一个表.
+     *
+     * @param pool           执行计算的线程池
+     * @param attackers      攻击者
+     * @param victims        被攻击者
+     * @param hitRate        存放命中几率的数组
+     * @param critChance     存放暴击概率的数组
+     * @param expectedDamage 存放每次攻击的期望伤害的数组
+     * @throws IllegalArgumentException  如果矩阵的元素个数超过了{@link Integer#MAX_VALUE}
+     * @throws IndexOutOfBoundsException 如果任意一个数组的长度小于矩阵的元素个数
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void compute(final ForkJoinPool pool, final EntityStatTable attackers,
+                               final EntityStatTable victims, final double[] hitRate, final double[] critChance,
+                               final double[] expectedDamage)
+    {
+        compute(pool, new Columns(attackers.column(EntityStatTable.IntStat.HIT),
+                        attackers.column(EntityStatTable.IntStat.CRIT),
+                        attackers.column(EntityStatTable.DoubleStat.PHYSICAL_ATTACK),
+                        attackers.column(EntityStatTable.DoubleStat.CRITS_EFFECT), attackers.size(),
+                        victims.column(EntityStatTable.IntStat.EVADE),
+                        victims.column(EntityStatTable.IntStat.RESISTANCE),
+                        victims.column(EntityStatTable.DoubleStat.ARMOR), victims.size()),
+                hitRate, critChance, expectedDamage);
+    }
+
+    /**
+     * 在{@link ForkJoinPool#commonPool()}中计算{@code attackers}中所有单位对{@code victims}中所有单位的矩阵,
+     * 矩阵的行与列分别对应两个数组中的下标.
+     *
+     * @param attackers      攻击者
+     * @param victims        被攻击者
+     * @param hitRate        存放命中几率的数组
+     * @param critChance     存放暴击概率的数组
+     * @param expectedDamage 存放每次攻击的期望伤害的数组
+     * @throws IllegalArgumentException  如果矩阵的元素个数超过了{@link Integer#MAX_VALUE}
+     * @throws IndexOutOfBoundsException 如果任意一个数组的长度小于矩阵的元素个数
+     * @throws NullPointerException      如果任意一个参数或数组中的元素为null
+     */
+    public static void compute(final StatBlock[] attackers, final StatBlock[] victims,
+                               final double[] hitRate, final double[] critChance, final double[] expectedDamage)
+    {
+        final int n = attackers.length;
+        final var hit = new int[n];
+        final var crit = new int[n];
+        final var attack = new double[n];
+        final var critsEffect = new double[n];
+        for (int a = 0; a < n; a++)
+        {
+            hit[a] = attackers[a].hit();
+            crit[a] = attackers[a].crit();
+            attack[a] = attackers[a].physicalAttack();
+            critsEffect[a] = attackers[a].critsEffect();
+        }
+        final int m = victims.length;
+        final var evade = new int[m];
+        final var resistance = new int[m];
+        final var armor = new double[m];
+        for (int v = 0; v < m; v++)
+        {
+            evade[v] = victims[v].evade();
+            resistance[v] = victims[v].resistance();
+            armor[v] = victims[v].armor();
+        }
+        compute(ForkJoinPool.commonPool(),
+                new Columns(hit, crit, attack, critsEffect, n, evade, resistance, armor, m),
+                hitRate, critChance, expectedDamage);
+    }
+
+    private static void compute(final ForkJoinPool pool, final Columns columns, final double[] hitRate,
+                                final double[] critChance, final double[] expectedDamage)
+    {
+        requireNonNull(pool);
+        final long cells = (long) columns.attackers * columns.victims;
+        if (cells > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("错误范围:" + cells);
+        }
+        checkLength(hitRate, cells);
+        checkLength(critChance, cells);
+        checkLength(expectedDamage, cells);
+        if (cells == 0)
+        {
+            return;
+        }
+
+        final int victimTiles = (columns.victims + VICTIM_TILE - 1) / VICTIM_TILE;
+        final int tiles = (columns.attackers + ATTACKER_TILE - 1) / ATTACKER_TILE * victimTiles;
+        pool.invoke(new TileTask(columns, hitRate, critChance, expectedDamage, victimTiles, 0, tiles));
+    }
+
+    private static void checkLength(final double[] out, final long cells)
+    {
+        if (out.length < cells)
+        {
+            throw new IndexOutOfBoundsException("数组长度" + out.length + "小于" + cells);
+        }
+    }
+
+    /**
+     * 计算一块矩阵.
+     */
+    private static void computeTile(final Columns columns, final double[] hitRate, final double[] critChance,
+                                    final double[] expectedDamage, final int attackerFrom, final int attackerTo,
+                                    final int victimFrom, final int victimTo)
+    {
+        final int length = victimTo - victimFrom;
+        for (int a = attackerFrom; a < attackerTo; a++)
+        {
+            final int hit = columns.hit[a];
+            final int crit = columns.crit[a];
+            final double attack = columns.attack[a];
+            final double critsEffect = columns.critsEffect[a];
+            final int rowOffset = a * columns.victims;
+
+            int done = 0;
+            if (Value.VECTOR_ENABLED)
+            {
+                done = VectorValue.matchupRow(hit, crit, attack, critsEffect, columns.evade, columns.resistance,
+                        columns.armor, victimFrom, hitRate, critChance, expectedDamage, rowOffset + victimFrom,
+                        length);
+            }
+            for (int v = victimFrom + done; v < victimTo; v++)
+            {
+                final int i = rowOffset + v;
+                final int evade = columns.evade[v];
+                final int resistance = columns.resistance[v];
+                final double armor = columns.armor[v];
+                hitRate[i] = Value.hitRate(hit, evade);
+                critChance[i] = Value.critChance(crit, resistance);
+                expectedDamage[i] = Value.swingDamage(hit, evade, crit, resistance, attack, armor, critsEffect);
+            }
+        }
+    }
+
+    /**
+     * 攻击者与被攻击者用到的列, 数组的长度可以大于实际的个数.
+     */
+    private record Columns(int[] hit, int[] crit, double[] attack, double[] critsEffect, int attackers,
+                           int[] evade, int[] resistance, double[] armor, int victims)
+    {
+    }
+
+    /**
+     * 计算编号在{@code [from, to)}之间的块, 块按行优先编号, 只剩一块时直接计算.
+     */
+    private static final class TileTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Columns columns;
+        private final double[] hitRate;
+        private final double[] critChance;
+        private final double[] expectedDamage;
+        private final int victimTiles;
+        private final int from;
+        private final int to;
+
+        private TileTask(final Columns columns, final double[] hitRate, final double[] critChance,
+                         final double[] expectedDamage, final int victimTiles, final int from, final int to)
+        {
+            this.columns = columns;
+            this.hitRate = hitRate;
+            this.critChance = critChance;
+            this.expectedDamage = expectedDamage;
+            this.victimTiles = victimTiles;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from > 1)
+            {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(columns, hitRate, critChance, expectedDamage, victimTiles, from, middle),
+                        new TileTask(columns, hitRate, critChance, expectedDamage, victimTiles, middle, to));
+                return;
+            }
+            final int attackerFrom = from / victimTiles * ATTACKER_TILE;
+            final int victimFrom = from % victimTiles * VICTIM_TILE;
+            computeTile(columns, hitRate, critChance, expectedDamage,
+                    attackerFrom, Math.min(attackerFrom + ATTACKER_TILE, columns.attackers),
+                    victimFrom, Math.min(victimFrom + VICTIM_TILE, columns.victims));
+        }
+    }
+}
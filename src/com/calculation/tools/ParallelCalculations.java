@@ -0,0 +1,517 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Tools;
+import com.calculation.tools.CalculationTools.Tools.SpecifiedDirection;
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+import static java.util.Objects.checkFromIndexSize;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link Value}与{@link Tools}中批量方法的并行版本, 把大数组拆分成多段在{@link ForkJoinPool}中计算.
+ * <p>
+ * {@link Value}的方法每段直接调用对应批量方法的实现, 每个元素的结果与顺序调用逐位相同.
+ * 开启{@link CalculationMetrics}时每次调用与顺序调用一样只计入一次批量调用, 不会按段计数.
+ * 每段至少{@value #SEQUENTIAL_THRESHOLD}个元素, 这些方法每个元素只需要约1纳秒, 更小的段拆分的开销会超过收益.
+ * <p>
+ * {@link Tools}的方法需要随机数, 与{@link Simulation}一样按固定的大小({@value #RANDOM_CHUNK}个元素)分段,
+ * 每次拆分任务时用{@link SplittableGenerator#split()}为新任务生成独立的随机数流.
+ * 拆分方式只取决于元素个数, 所以给定状态相同的随机数生成器时, 结果与线程数和调度顺序无关
+ * (但与用同一个随机数生成器顺序调用{@link Tools}的结果不同). 单个元素的分布与顺序调用相同.
+ * <p>
+ * 所有方法在调用线程中等待计算完成. 输入与输出数组在计算期间不能被其他线程修改.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+public final class ParallelCalculations
+{
+    /**{@link Value}的方法每段最少的元素个数*/
+    static final int SEQUENTIAL_THRESHOLD = 1 << 15;
+    /**{@link Tools}的方法每段的元素个数, 必须是64的倍数*/
+    static final int RANDOM_CHUNK = 1 << 13;
+
+    private ParallelCalculations()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 并行执行{@link Value#attackHitRate(int[], int[], double[], int, int)}.
+     *
+     * @param pool        执行计算的线程池
+     * @param attackerHit 攻击者的命中
+     * @param victimEvade 被攻击者的闪避
+     * @param out         存放命中几率的数组
+     * @param offset      开始计算的下标
+     * @param length      要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void attackHitRate(final ForkJoinPool pool, final int[] attackerHit, final int[] victimEvade,
+                                     final double[] out, final int offset, final int length)
+    {
+        checkFromIndexSize(offset, length, attackerHit.length);
+        checkFromIndexSize(offset, length, victimEvade.length);
+        checkFromIndexSize(offset, length, out.length);
+        if (CalculationMetrics.ENABLED)
+        {
+            CalculationMetrics.batch(CalculationMetrics.Counter.ATTACK_HIT_RATE_BATCH_CALLS,
+                    CalculationMetrics.Counter.ATTACK_HIT_RATE_BATCH_ELEMENTS, length);
+        }
+        invoke(pool, (from, size) -> Value.hitRates(attackerHit, victimEvade, out, from, size), offset, length);
+    }
+
+    /**
+     * 并行执行{@link Value#attackerCritChance(int[], int[], double[], int, int)}.
+     *
+     * @param pool             执行计算的线程池
+     * @param attackerCrit     攻击者的暴击
+     * @param victimResistance 被攻击者的暴击抗性
+     * @param out              存放暴击概率的数组
+     * @param offset           开始计算的下标
+     * @param length           要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void attackerCritChance(final ForkJoinPool pool, final int[] attackerCrit,
+                                          final int[] victimResistance, final double[] out, final int offset,
+                                          final int length)
+    {
+        checkFromIndexSize(offset, length, attackerCrit.length);
+        checkFromIndexSize(offset, length, victimResistance.length);
+        checkFromIndexSize(offset, length, out.length);
+        if (CalculationMetrics.ENABLED)
+        {
+            CalculationMetrics.batch(CalculationMetrics.Counter.CRIT_CHANCE_BATCH_CALLS,
+                    CalculationMetrics.Counter.CRIT_CHANCE_BATCH_ELEMENTS, length);
+        }
+        invoke(pool, (from, size) -> Value.critChances(attackerCrit, victimResistance, out, from, size), offset,
+                length);
+    }
+
+    /**
+     * 并行执行{@link Value#attackerPhysicalDamage(double[], double[], double[], int, int)}.
+     *
+     * @param pool                   执行计算的线程池
+     * @param attackerPhysicalAttack 攻击者的物理攻击
+     * @param victimArmor            被攻击者的护甲值
+     * @param out                    存放伤害的数组
+     * @param offset                 开始计算的下标
+     * @param length                 要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void attackerPhysicalDamage(final ForkJoinPool pool, final double[] attackerPhysicalAttack,
+                                              final double[] victimArmor, final double[] out, final int offset,
+                                              final int length)
+    {
+        checkFromIndexSize(offset, length, attackerPhysicalAttack.length);
+        checkFromIndexSize(offset, length, victimArmor.length);
+        checkFromIndexSize(offset, length, out.length);
+        if (CalculationMetrics.ENABLED)
+        {
+            CalculationMetrics.batch(CalculationMetrics.Counter.PHYSICAL_DAMAGE_BATCH_CALLS,
+                    CalculationMetrics.Counter.PHYSICAL_DAMAGE_BATCH_ELEMENTS, length);
+        }
+        invoke(pool, (from, size) -> Value.physicalDamages(attackerPhysicalAttack, victimArmor, out, from, size),
+                offset, length);
+    }
+
+    /**
+     * 并行执行{@link Value#victimEffectiveHp(int[], double[], double[], double[], int, int)}.
+     *
+     * @param pool            执行计算的线程池
+     * @param victimHp        被攻击者的HP
+     * @param damageReduction 伤害减免率
+     * @param evadeChance     闪避概率
+     * @param out             存放有效HP的数组
+     * @param offset          开始计算的下标
+     * @param length          要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void victimEffectiveHp(final ForkJoinPool pool, final int[] victimHp,
+                                         final double[] damageReduction, final double[] evadeChance,
+                                         final double[] out, final int offset, final int length)
+    {
+        checkFromIndexSize(offset, length, victimHp.length);
+        checkFromIndexSize(offset, length, damageReduction.length);
+        checkFromIndexSize(offset, length, evadeChance.length);
+        checkFromIndexSize(offset, length, out.length);
+        if (CalculationMetrics.ENABLED)
+        {
+            CalculationMetrics.batch(CalculationMetrics.Counter.EFFECTIVE_HP_BATCH_CALLS,
+                    CalculationMetrics.Counter.EFFECTIVE_HP_BATCH_ELEMENTS, length);
+        }
+        invoke(pool, (from, size) -> Value.effectiveHps(victimHp, damageReduction, evadeChance, out, from, size),
+                offset, length);
+    }
+
+    /**
+     * 并行执行{@link Value#criticalDamage(double[], double[], int[], int, int)}.
+     *
+     * @param pool        执行计算的线程池
+     * @param hurt        伤害
+     * @param critsEffect 暴击效果
+     * @param out         存放暴击伤害的数组
+     * @param offset      开始计算的下标
+     * @param length      要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void criticalDamage(final ForkJoinPool pool, final double[] hurt, final double[] critsEffect,
+                                      final int[] out, final int offset, final int length)
+    {
+        checkFromIndexSize(offset, length, hurt.length);
+        checkFromIndexSize(offset, length, critsEffect.length);
+        checkFromIndexSize(offset, length, out.length);
+        if (CalculationMetrics.ENABLED)
+        {
+            CalculationMetrics.batch(CalculationMetrics.Counter.CRITICAL_DAMAGE_BATCH_CALLS,
+                    CalculationMetrics.Counter.CRITICAL_DAMAGE_BATCH_ELEMENTS, length);
+        }
+        invoke(pool, (from, size) -> Value.criticalDamages(hurt, critsEffect, out, from, size), offset, length);
+    }
+
+    /**
+     * 并行执行{@link Value#expectedSwingDamage(int[], int[], int[], int[], double[], double[], double[], double[],
+     * int, int)}.
+     *
+     * @param pool                   执行计算的线程池
+     * @param attackerHit            攻击者的命中
+     * @param victimEvade            被攻击者的闪避
+     * @param attackerCrit           攻击者的暴击
+     * @param victimResistance       被攻击者的暴击抗性
+     * @param attackerPhysicalAttack 攻击者的物理攻击
+     * @param victimArmor            被攻击者的护甲值
+     * @param critsEffect            攻击者的暴击效果
+     * @param out                    存放期望伤害的数组
+     * @param offset                 开始计算的下标
+     * @param length                 要计算的元素个数
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了任意一个数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void expectedSwingDamage(final ForkJoinPool pool, final int[] attackerHit,
+                                           final int[] victimEvade, final int[] attackerCrit,
+                                           final int[] victimResistance, final double[] attackerPhysicalAttack,
+                                           final double[] victimArmor, final double[] critsEffect,
+                                           final double[] out, final int offset, final int length)
+    {
+        checkFromIndexSize(offset, length, attackerHit.length);
+        checkFromIndexSize(offset, length, victimEvade.length);
+        checkFromIndexSize(offset, length, attackerCrit.length);
+        checkFromIndexSize(offset, length, victimResistance.length);
+        checkFromIndexSize(offset, length, attackerPhysicalAttack.length);
+        checkFromIndexSize(offset, length, victimArmor.length);
+        checkFromIndexSize(offset, length, critsEffect.length);
+        checkFromIndexSize(offset, length, out.length);
+        if (CalculationMetrics.ENABLED)
+        {
+            CalculationMetrics.batch(CalculationMetrics.Counter.EXPECTED_SWING_DAMAGE_BATCH_CALLS,
+                    CalculationMetrics.Counter.EXPECTED_SWING_DAMAGE_BATCH_ELEMENTS, length);
+        }
+        invoke(pool, (from, size) -> Value.swingDamages(attackerHit, victimEvade, attackerCrit,
+                victimResistance, attackerPhysicalAttack, victimArmor, critsEffect, out, from, size), offset, length);
+    }
+
+    /**
+     * 并行执行{@link Tools#randomBooleanValues(RandomGenerator, double, long[], int)}.
+     * <p>
+     * 每段为{@value #RANDOM_CHUNK}次判定, 也就是{@code bits}中连续的{@code RANDOM_CHUNK / 64}个元素.
+     *
+     * @param pool            执行计算的线程池
+     * @param random          随机数生成器, 调用期间状态会改变
+     * @param trueProbability 每次返回{@code true}的概率
+     * @param bits            存放结果的位图
+     * @param count           次数
+     * @throws IllegalArgumentException 如果{@code count}小于0或{@code bits}不足以存放{@code count}个结果
+     * @throws NullPointerException     如果任意一个参数为null
+     */
+    public static void randomBooleanValues(final ForkJoinPool pool, final SplittableGenerator random,
+                                           final double trueProbability, final long[] bits, final int count)
+    {
+        requireNonNull(random);
+        final int words = (int) ((count + 63L) >>> 6);
+        if (count < 0 || words > bits.length)
+        {
+            throw new IllegalArgumentException("错误次数:" + count);
+        }
+        final long threshold = Tools.bernoulliThreshold(trueProbability);
+        invoke(pool, random, RANDOM_CHUNK >>> 6, (generator, from, size) ->
+        {
+            for (int i = from, end = from + size; i < end; i++)
+            {
+                bits[i] = Tools.bernoulliWord(generator, threshold);
+            }
+        }, 0, words);
+        if ((count & 63) != 0)
+        {
+            bits[words - 1] &= (1L << count) - 1;
+        }
+    }
+
+    /**
+     * 并行执行{@link Tools#floatingNumbers(RandomGenerator, int[], int, int, int, boolean)}.
+     *
+     * @param pool             执行计算的线程池
+     * @param random           随机数生成器, 调用期间状态会改变
+     * @param numbers          要进行加工的整数
+     * @param offset           开始加工的下标
+     * @param length           要加工的元素个数
+     * @param floatingIntRange 浮动的整数范围(非负数)
+     * @param saturating       为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+     * @throws IllegalArgumentException  如果{@code floatingIntRange}小于0
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void floatingNumbers(final ForkJoinPool pool, final SplittableGenerator random,
+                                       final int[] numbers, final int offset, final int length,
+                                       final int floatingIntRange, final boolean saturating)
+    {
+        checkFloatingIntRange(floatingIntRange);
+        checkFromIndexSize(offset, length, numbers.length);
+        invoke(pool, random, RANDOM_CHUNK, (generator, from, size) ->
+                Tools.floatingNumbers(generator, numbers, from, size, floatingIntRange, saturating), offset, length);
+    }
+
+    /**
+     * 并行执行{@link Tools#floatingNumbers(RandomGenerator, int[], int, int, int, SpecifiedDirection, boolean)}.
+     *
+     * @param pool             执行计算的线程池
+     * @param random           随机数生成器, 调用期间状态会改变
+     * @param numbers          要进行加工的整数
+     * @param offset           开始加工的下标
+     * @param length           要加工的元素个数
+     * @param floatingIntRange 浮动的整数范围(非负数)
+     * @param sign             手动指定的浮动方向, 只支持(+, -)
+     * @param saturating       为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+     * @throws IllegalArgumentException  如果{@code floatingIntRange}小于0
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void floatingNumbers(final ForkJoinPool pool, final SplittableGenerator random,
+                                       final int[] numbers, final int offset, final int length,
+                                       final int floatingIntRange, final SpecifiedDirection sign,
+                                       final boolean saturating)
+    {
+        requireNonNull(sign);
+        checkFloatingIntRange(floatingIntRange);
+        checkFromIndexSize(offset, length, numbers.length);
+        invoke(pool, random, RANDOM_CHUNK, (generator, from, size) ->
+                Tools.floatingNumbers(generator, numbers, from, size, floatingIntRange, sign, saturating),
+                offset, length);
+    }
+
+    /**
+     * 并行执行{@link Tools#floatingNumbers(RandomGenerator, int[], int, int, double, boolean)}.
+     *
+     * @param pool               执行计算的线程池
+     * @param random             随机数生成器, 调用期间状态会改变
+     * @param numbers            要进行加工的整数
+     * @param offset             开始加工的下标
+     * @param length             要加工的元素个数
+     * @param floatingPercentage 浮动的百分比范围
+     * @param saturating         为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+     * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void floatingNumbers(final ForkJoinPool pool, final SplittableGenerator random,
+                                       final int[] numbers, final int offset, final int length,
+                                       final double floatingPercentage, final boolean saturating)
+    {
+        checkFloatingPercentage(floatingPercentage);
+        checkFromIndexSize(offset, length, numbers.length);
+        invoke(pool, random, RANDOM_CHUNK, (generator, from, size) ->
+                Tools.floatingNumbers(generator, numbers, from, size, floatingPercentage, saturating),
+                offset, length);
+    }
+
+    /**
+     * 并行执行{@link Tools#floatingNumbers(RandomGenerator, int[], int, int, double, SpecifiedDirection, boolean)}.
+     *
+     * @param pool               执行计算的线程池
+     * @param random             随机数生成器, 调用期间状态会改变
+     * @param numbers            要进行加工的整数
+     * @param offset             开始加工的下标
+     * @param length             要加工的元素个数
+     * @param floatingPercentage 浮动的百分比范围
+     * @param sign               手动指定的浮动方向, 只支持(+, -)
+     * @param saturating         为{@code true}时结果超出int范围会取边界值, 否则与标量方法一样溢出
+     * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void floatingNumbers(final ForkJoinPool pool, final SplittableGenerator random,
+                                       final int[] numbers, final int offset, final int length,
+                                       final double floatingPercentage, final SpecifiedDirection sign,
+                                       final boolean saturating)
+    {
+        requireNonNull(sign);
+        checkFloatingPercentage(floatingPercentage);
+        checkFromIndexSize(offset, length, numbers.length);
+        invoke(pool, random, RANDOM_CHUNK, (generator, from, size) ->
+                Tools.floatingNumbers(generator, numbers, from, size, floatingPercentage, sign, saturating),
+                offset, length);
+    }
+
+    /**
+     * 并行执行{@link Tools#floatingNumbers(RandomGenerator, double[], int, int, double)}.
+     *
+     * @param pool               执行计算的线程池
+     * @param random             随机数生成器, 调用期间状态会改变
+     * @param numbers            要进行加工的数
+     * @param offset             开始加工的下标
+     * @param length             要加工的元素个数
+     * @param floatingPercentage 浮动的百分比范围
+     * @throws IllegalArgumentException  如果{@code floatingPercentage}小于0.0
+     * @throws IndexOutOfBoundsException 如果{@code offset}和{@code length}超出了数组的范围
+     * @throws NullPointerException      如果任意一个参数为null
+     */
+    public static void floatingNumbers(final ForkJoinPool pool, final SplittableGenerator random,
+                                       final double[] numbers, final int offset, final int length,
+                                       final double floatingPercentage)
+    {
+        checkFloatingPercentage(floatingPercentage);
+        checkFromIndexSize(offset, length, numbers.length);
+        invoke(pool, random, RANDOM_CHUNK, (generator, from, size) ->
+                Tools.floatingNumbers(generator, numbers, from, size, floatingPercentage), offset, length);
+    }
+
+    private static void checkFloatingIntRange(final int floatingIntRange)
+    {
+        if (floatingIntRange < 0)
+        {
+            throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+        }
+    }
+
+    private static void checkFloatingPercentage(final double floatingPercentage)
+    {
+        if (floatingPercentage < 0.0)
+        {
+            throw new IllegalArgumentException("错误范围:" + floatingPercentage);
+        }
+    }
+
+    private static void invoke(final ForkJoinPool pool, final RangeKernel kernel, final int offset,
+                               final int length)
+    {
+        if (length <= SEQUENTIAL_THRESHOLD)
+        {
+            //不值得拆分时直接在调用线程中计算
+            requireNonNull(pool);
+            kernel.compute(offset, length);
+            return;
+        }
+        pool.invoke(new RangeTask(kernel, offset, length));
+    }
+
+    private static void invoke(final ForkJoinPool pool, final SplittableGenerator random, final int chunk,
+                               final RandomRangeKernel kernel, final int offset, final int length)
+    {
+        requireNonNull(pool);
+        requireNonNull(random);
+        if (length <= chunk)
+        {
+            kernel.compute(random, offset, length);
+            return;
+        }
+        pool.invoke(new RandomRangeTask(kernel, random, chunk, offset, length));
+    }
+
+    /**
+     * 计算{@code [offset, offset + length)}之间的元素.
+     */
+    @FunctionalInterface
+    private interface RangeKernel
+    {
+        void compute(int offset, int length);
+    }
+
+    /**
+     * 使用给定的随机数生成器计算{@code [offset, offset + length)}之间的元素.
+     */
+    @FunctionalInterface
+    private interface RandomRangeKernel
+    {
+        void compute(RandomGenerator random, int offset, int length);
+    }
+
+    private static final class RangeTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeKernel kernel;
+        private final int offset;
+        private final int length;
+
+        private RangeTask(final RangeKernel kernel, final int offset, final int length)
+        {
+            this.kernel = kernel;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (length < SEQUENTIAL_THRESHOLD << 1)
+            {
+                kernel.compute(offset, length);
+                return;
+            }
+            //按64对齐拆分, 使每段的向量循环都能处理完整的向量
+            final int half = (length >>> 1) & -64;
+            invokeAll(new RangeTask(kernel, offset, half), new RangeTask(kernel, offset + half, length - half));
+        }
+    }
+
+    /**
+     * 按固定大小的段拆分的任务, 与{@link Simulation}的任务一样, 拆分点只取决于元素个数.
+     */
+    private static final class RandomRangeTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final RandomRangeKernel kernel;
+        private final SplittableGenerator random;
+        private final int chunk;
+        private final int offset;
+        private final int length;
+
+        private RandomRangeTask(final RandomRangeKernel kernel, final SplittableGenerator random, final int chunk,
+                                final int offset, final int length)
+        {
+            this.kernel = kernel;
+            this.random = random;
+            this.chunk = chunk;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (length <= chunk)
+            {
+                kernel.compute(random, offset, length);
+                return;
+            }
+            //左半部分取整数个段, 随机数流的拆分顺序只取决于元素个数
+            final int chunks = (int) ((length + (long) chunk - 1) / chunk);
+            final int half = (chunks >>> 1) * chunk;
+            final var left = new RandomRangeTask(kernel, random.split(), chunk, offset, half);
+            left.fork();
+            new RandomRangeTask(kernel, random, chunk, offset + half, length - half).compute();
+            left.join();
+        }
+    }
+}
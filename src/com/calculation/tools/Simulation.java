@@ -0,0 +1,262 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * 用蒙特卡洛方法并行模拟两个单位之间的大量对决.
+ * <p>
+ * 每次对决按回合进行: 每回合先手攻击后手一次, 后手存活时再攻击先手一次, 一方HP小于等于0时对决结束,
+ * 达到回合上限时记为平局. 受到的伤害按{@link StatBlock#damageReduction()}减免, 即一方受到的伤害总和达到
+ * {@link Value#victimEffectiveHp(int, double, double)}(不计闪避)时被击杀. 每次攻击的命中几率, 暴击概率和伤害由
+ * {@link Value#attackHitRate(int, int)}, {@link Value#attackerCritChance(int, int)},
+ * {@link Value#attackerPhysicalDamage(double, double)}和{@link Value#criticalDamage(double, double)}计算,
+ * 这些值对同一对单位是固定的, 只在开始时计算一次.
+ * 每次攻击的判定与伤害浮动由{@link CombatResolver}用一个随机数完成, 其分布与依次调用
+ * {@link CalculationTools.Tools#randomBooleanValue(double)}和
+ * {@link CalculationTools.Tools#floatingNumber(int, int)}相同. 浮动后小于0的伤害按0计算.
+ * <p>
+ * 对决按固定的大小({@value #CHUNK_DUELS}次)分块, 在{@link ForkJoinPool}中并行执行, 每次拆分任务时用
+ * {@link SplittableGenerator#split()}为新任务生成独立的随机数流. 任务的拆分方式只取决于对决次数,
+ * 所以给定相同的种子时, 结果与线程数和调度顺序无关.
+ * <p>
+ * 每次攻击, 击杀与每批模拟都会提交{@link CombatEvents}中的 JFR 事件, 事件不会影响模拟结果.
+ *
+ * @author 留恋千年
+ * @version 1.2.0
+ * @since 2026-10-16
+ */
+public final class Simulation
+{
+    /**每个任务最多直接模拟的对决次数, 超过时继续拆分*/
+    static final int CHUNK_DUELS = 1 << 13;
+    /**击杀回合数数组的初始长度*/
+    private static final int INITIAL_ROUNDS = 64;
+
+    private Simulation()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 在{@link ForkJoinPool#commonPool()}中模拟{@code duels}次对决.
+     *
+     * @param first     先手
+     * @param second    后手
+     * @param duels     对决次数
+     * @param maxRounds 每次对决的回合上限
+     * @param seed      随机数种子
+     * @return 统计结果
+     * @throws IllegalArgumentException 如果{@code duels}小于0, 或{@code maxRounds}小于1或等于{@link Integer#MAX_VALUE}
+     * @throws NullPointerException     如果{@code first}或{@code second}为null
+     * @see #duel(ForkJoinPool, StatBlock, StatBlock, long, int, SplittableGenerator)
+     */
+    public static DuelStatistics duel(final StatBlock first, final StatBlock second, final long duels,
+                                      final int maxRounds, final long seed)
+    {
+        return duel(ForkJoinPool.commonPool(), first, second, duels, maxRounds, new SplittableRandom(seed));
+    }
+
+    /**
+     * 在给定的线程池中模拟{@code duels}次对决.
+     * <p>
+     * 调用期间会通过{@link SplittableGenerator#split()}改变{@code random}的状态,
+     * 调用结束后{@code random}可以继续使用.
+     *
+     * @param pool      执行模拟的线程池
+     * @param first     先手
+     * @param second    后手
+     * @param duels     对决次数
+     * @param maxRounds 每次对决的回合上限
+     * @param random    随机数生成器
+     * @return 统计结果
+     * @throws IllegalArgumentException 如果{@code duels}小于0, 或{@code maxRounds}小于1或等于{@link Integer#MAX_VALUE}
+     * @throws NullPointerException     如果任意一个参数为null
+     */
+    public static DuelStatistics duel(final ForkJoinPool pool, final StatBlock first, final StatBlock second,
+                                      final long duels, final int maxRounds, final SplittableGenerator random)
+    {
+        requireNonNull(pool);
+        requireNonNull(random);
+        if (duels < 0)
+        {
+            throw new IllegalArgumentException("错误范围:" + duels);
+        }
+        if (maxRounds < 1 || maxRounds == Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("错误范围:" + maxRounds);
+        }
+
+        //闪避已经体现在命中几率中, 有效HP只计伤害减免
+        final var matchup = new Matchup(Value.victimEffectiveHp(first.hp(), first.damageReduction(), 0.0),
+                Value.victimEffectiveHp(second.hp(), second.damageReduction(), 0.0),
+                new Swing(first, second), new Swing(second, first), maxRounds);
+        final var event = new CombatEvents.SimulationEvent();
+        event.begin();
+        final var tally = pool.invoke(new DuelTask(matchup, duels, random));
+        final var statistics = new DuelStatistics(tally.draws, tally.firstTimeToKill, tally.secondTimeToKill);
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.duels = statistics.duels();
+            event.maxRounds = maxRounds;
+            event.firstWins = statistics.firstWins();
+            event.secondWins = statistics.secondWins();
+            event.draws = statistics.draws();
+            event.firstWinRate = statistics.firstWinRate();
+            event.commit();
+        }
+        return statistics;
+    }
+
+    /**
+     * 一方攻击另一方时固定不变的数值.
+     */
+    private static final class Swing
+    {
+        private final StatBlock attacker;
+        private final StatBlock victim;
+        private final double hitRate;
+        private final double critChance;
+        private final double hurt;
+        private final double critsEffect;
+        private final int floatingIntRange;
+
+        private Swing(final StatBlock attacker, final StatBlock victim)
+        {
+            final var matchup = attacker.against(victim);
+            this.attacker = attacker;
+            this.victim = victim;
+            this.hitRate = matchup.hitRate();
+            this.critChance = matchup.critChance();
+            this.hurt = matchup.physicalDamage();
+            this.critsEffect = attacker.critsEffect();
+            this.floatingIntRange = attacker.floatingIntRange();
+        }
+
+        private int damage(final RandomGenerator random)
+        {
+            final int outcome = CombatResolver.resolve(random, hitRate, critChance, floatingIntRange);
+            final int damage = Math.max(0, CombatResolver.damage(outcome, hurt, critsEffect));
+            CombatEvents.swing(attacker, victim.evade(), victim.resistance(), victim.armor(), hitRate, critChance,
+                    outcome, damage);
+            return damage;
+        }
+    }
+
+    private record Matchup(double firstHp, double secondHp, Swing first, Swing second, int maxRounds)
+    {
+    }
+
+    /**
+     * 一个任务的统计结果, 只在一个线程中修改.
+     * <p>
+     * 击杀回合数的数组只扩大到实际出现过的最大回合数, 回合上限很大时也不会为每个任务分配很大的数组.
+     */
+    private static final class Tally
+    {
+        private long[] firstTimeToKill = new long[INITIAL_ROUNDS];
+        private long[] secondTimeToKill = new long[INITIAL_ROUNDS];
+        private long draws;
+
+        private static long[] record(final long[] timeToKill, final int round)
+        {
+            final var counts = round < timeToKill.length ? timeToKill
+                    : Arrays.copyOf(timeToKill, Math.max(round + 1, timeToKill.length << 1));
+            counts[round]++;
+            return counts;
+        }
+
+        private static long[] merge(final long[] timeToKill, final long[] other)
+        {
+            final var counts = other.length <= timeToKill.length ? timeToKill
+                    : Arrays.copyOf(timeToKill, other.length);
+            for (int i = 0; i < other.length; i++)
+            {
+                counts[i] += other[i];
+            }
+            return counts;
+        }
+
+        private Tally merge(final Tally other)
+        {
+            firstTimeToKill = merge(firstTimeToKill, other.firstTimeToKill);
+            secondTimeToKill = merge(secondTimeToKill, other.secondTimeToKill);
+            draws += other.draws;
+            return this;
+        }
+    }
+
+    private static final class DuelTask extends RecursiveTask<Tally>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Matchup matchup;
+        private final long duels;
+        private final SplittableGenerator random;
+
+        private DuelTask(final Matchup matchup, final long duels, final SplittableGenerator random)
+        {
+            this.matchup = matchup;
+            this.duels = duels;
+            this.random = random;
+        }
+
+        @Override
+        protected Tally compute()
+        {
+            if (duels <= CHUNK_DUELS)
+            {
+                return simulate();
+            }
+            //拆分点只取决于对决次数, 保证结果可以复现
+            final long half = duels >>> 1;
+            final var left = new DuelTask(matchup, half, random.split());
+            left.fork();
+            final var right = new DuelTask(matchup, duels - half, random).compute();
+            return right.merge(left.join());
+        }
+
+        private Tally simulate()
+        {
+            final var first = matchup.first();
+            final var second = matchup.second();
+            final int maxRounds = matchup.maxRounds();
+            final var tally = new Tally();
+
+            duels:
+            for (long duel = 0; duel < duels; duel++)
+            {
+                double firstHp = matchup.firstHp();
+                double secondHp = matchup.secondHp();
+                for (int round = 1; round <= maxRounds; round++)
+                {
+                    secondHp -= first.damage(random);
+                    if (secondHp <= 0)
+                    {
+                        CombatEvents.kill(first.attacker, first.victim, round);
+                        tally.firstTimeToKill = Tally.record(tally.firstTimeToKill, round);
+                        continue duels;
+                    }
+                    firstHp -= second.damage(random);
+                    if (firstHp <= 0)
+                    {
+                        CombatEvents.kill(second.attacker, second.victim, round);
+                        tally.secondTimeToKill = Tally.record(tally.secondTimeToKill, round);
+                        continue duels;
+                    }
+                }
+                tally.draws++;
+            }
+            return tally;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Value;
+
+/**
+ * 一个参与战斗的单位的全部属性.
+ * <p>
+ * 属性的含义与{@link Value}中同名参数相同, 使用{@link #builder()}创建.
+ * 由属性推导出的数值在第一次使用时计算并保存在对象中, 同一模板生成的大量单位共用一个对象时只需要计算一次:
+ * {@link #effectiveHp()}缓存自身的有效HP, {@link #against(StatBlock)}缓存与最近遇到的对手之间的结果.
+ * 对手按对象的身份区分, 缓存是直接映射的, 只有{@value #MATCHUP_SLOTS}个位置, 位置冲突时新结果覆盖旧结果.
+ * <p>
+ * 这个类是不可变的, 可以在多个线程之间共享. 多个线程同时计算同一个推导值时可能重复计算, 但结果相同.
+ *
+ * @author 留恋千年
+ * @version 1.2.0
+ * @since 2026-10-16
+ */
+public final class StatBlock
+{
+    /**缓存对手结果的位置数*/
+    static final int MATCHUP_SLOTS = 8;
+
+    private final int hp;
+    private final int hit;
+    private final int evade;
+    private final int crit;
+    private final int resistance;
+    private final double physicalAttack;
+    private final double armor;
+    private final double damageReduction;
+    private final double evadeChance;
+    private final double critsEffect;
+    private final int floatingIntRange;
+
+    /**有效HP的位表示, 0表示还没有计算(有效HP为0时每次都会重新计算)*/
+    private volatile long effectiveHpBits;
+    /**与最近遇到的对手之间的结果, 按对手的身份哈希值直接映射*/
+    private final Matchup[] matchups = new Matchup[MATCHUP_SLOTS];
+
+    private StatBlock(final Builder builder)
+    {
+        this.hp = builder.hp;
+        this.hit = builder.hit;
+        this.evade = builder.evade;
+        this.crit = builder.crit;
+        this.resistance = builder.resistance;
+        this.physicalAttack = builder.physicalAttack;
+        this.armor = builder.armor;
+        this.damageReduction = builder.damageReduction;
+        this.evadeChance = builder.evadeChance;
+        this.critsEffect = builder.critsEffect;
+        this.floatingIntRange = builder.floatingIntRange;
+    }
+
+    /**
+     * @return 一个新的构建器, HP为1, 暴击效果为1.0, 其余属性都为0
+     */
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * @return HP
+     */
+    public int hp()
+    {
+        return hp;
+    }
+
+    /**
+     * @return 命中
+     */
+    public int hit()
+    {
+        return hit;
+    }
+
+    /**
+     * @return 闪避
+     */
+    public int evade()
+    {
+        return evade;
+    }
+
+    /**
+     * @return 暴击
+     */
+    public int crit()
+    {
+        return crit;
+    }
+
+    /**
+     * @return 暴击抗性
+     */
+    public int resistance()
+    {
+        return resistance;
+    }
+
+    /**
+     * @return 物理攻击
+     */
+    public double physicalAttack()
+    {
+        return physicalAttack;
+    }
+
+    /**
+     * @return 护甲值
+     */
+    public double armor()
+    {
+        return armor;
+    }
+
+    /**
+     * @return 伤害减免率
+     */
+    public double damageReduction()
+    {
+        return damageReduction;
+    }
+
+    /**
+     * @return 闪避概率
+     */
+    public double evadeChance()
+    {
+        return evadeChance;
+    }
+
+    /**
+     * @return 暴击效果
+     */
+    public double critsEffect()
+    {
+        return critsEffect;
+    }
+
+    /**
+     * @return 伤害浮动的整数范围
+     */
+    public int floatingIntRange()
+    {
+        return floatingIntRange;
+    }
+
+    /**
+     * 计算有效HP, 结果会被缓存.
+     *
+     * @return {@link Value#victimEffectiveHp(int, double, double)}
+     */
+    public double effectiveHp()
+    {
+        long bits = effectiveHpBits;
+        if (bits == 0L)
+        {
+            bits = Double.doubleToRawLongBits(Value.victimEffectiveHp(hp, damageReduction, evadeChance));
+            effectiveHpBits = bits;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * 取得这个单位攻击{@code victim}时的结果, 与最近遇到的对手之间的结果会被缓存.
+     *
+     * @param victim 被攻击者
+     * @return 这个单位攻击{@code victim}时的结果
+     * @throws NullPointerException 如果{@code victim}为null
+     */
+    public Matchup against(final StatBlock victim)
+    {
+        final int slot = slot(victim);
+        //Matchup的字段都是final的, 不加锁读写数组也能看到完整的对象
+        final var cached = matchups[slot];
+        if (cached != null && cached.victim == victim)
+        {
+            return cached;
+        }
+        final var matchup = new Matchup(this, victim);
+        matchups[slot] = matchup;
+        return matchup;
+    }
+
+    private static int slot(final StatBlock victim)
+    {
+        final int hash = System.identityHashCode(victim);
+        return (hash ^ hash >>> 16) & (MATCHUP_SLOTS - 1);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StatBlock{hp=" + hp + ", hit=" + hit + ", evade=" + evade + ", crit=" + crit
+                + ", resistance=" + resistance + ", physicalAttack=" + physicalAttack + ", armor=" + armor
+                + ", damageReduction=" + damageReduction + ", evadeChance=" + evadeChance
+                + ", critsEffect=" + critsEffect + ", floatingIntRange=" + floatingIntRange + '}';
+    }
+
+    /**
+     * {@link StatBlock}的构建器, 不是线程安全的.
+     *
+     * @author 留恋千年
+     * @version 1.0.0
+     * @since 2026-10-16
+     */
+    public static final class Builder
+    {
+        private int hp = 1;
+        private int hit;
+        private int evade;
+        private int crit;
+        private int resistance;
+        private double physicalAttack;
+        private double armor;
+        private double damageReduction;
+        private double evadeChance;
+        private double critsEffect = 1.0;
+        private int floatingIntRange;
+
+        private Builder()
+        {
+        }
+
+        /**
+         * @param hp HP, 必须大于0
+         * @return 这个构建器
+         * @throws IllegalArgumentException 如果{@code hp}小于等于0
+         */
+        public Builder hp(final int hp)
+        {
+            if (hp <= 0)
+            {
+                throw new IllegalArgumentException("错误范围:" + hp);
+            }
+            this.hp = hp;
+            return this;
+        }
+
+        /**
+         * @param hit 命中
+         * @return 这个构建器
+         */
+        public Builder hit(final int hit)
+        {
+            this.hit = hit;
+            return this;
+        }
+
+        /**
+         * @param evade 闪避
+         * @return 这个构建器
+         */
+        public Builder evade(final int evade)
+        {
+            this.evade = evade;
+            return this;
+        }
+
+        /**
+         * @param crit 暴击
+         * @return 这个构建器
+         */
+        public Builder crit(final int crit)
+        {
+            this.crit = crit;
+            return this;
+        }
+
+        /**
+         * @param resistance 暴击抗性
+         * @return 这个构建器
+         */
+        public Builder resistance(final int resistance)
+        {
+            this.resistance = resistance;
+            return this;
+        }
+
+        /**
+         * @param physicalAttack 物理攻击
+         * @return 这个构建器
+         */
+        public Builder physicalAttack(final double physicalAttack)
+        {
+            this.physicalAttack = physicalAttack;
+            return this;
+        }
+
+        /**
+         * @param armor 护甲值
+         * @return 这个构建器
+         */
+        public Builder armor(final double armor)
+        {
+            this.armor = armor;
+            return this;
+        }
+
+        /**
+         * @param damageReduction 伤害减免率, 与{@link Value#victimEffectiveHp(int, double, double)}中的含义相同
+         * @return 这个构建器
+         */
+        public Builder damageReduction(final double damageReduction)
+        {
+            this.damageReduction = damageReduction;
+            return this;
+        }
+
+        /**
+         * @param evadeChance 闪避概率, 与{@link Value#victimEffectiveHp(int, double, double)}中的含义相同
+         * @return 这个构建器
+         */
+        public Builder evadeChance(final double evadeChance)
+        {
+            this.evadeChance = evadeChance;
+            return this;
+        }
+
+        /**
+         * @param critsEffect 暴击效果
+         * @return 这个构建器
+         */
+        public Builder critsEffect(final double critsEffect)
+        {
+            this.critsEffect = critsEffect;
+            return this;
+        }
+
+        /**
+         * @param floatingIntRange 伤害浮动的整数范围
+         * @return 这个构建器
+         * @throws IllegalArgumentException 如果{@code floatingIntRange}小于0或大于
+         *                                  {@link CombatResolver#MAX_FLOATING_RANGE}
+         */
+        public Builder floatingIntRange(final int floatingIntRange)
+        {
+            if (floatingIntRange < 0 || floatingIntRange > CombatResolver.MAX_FLOATING_RANGE)
+            {
+                throw new IllegalArgumentException("错误范围:" + floatingIntRange);
+            }
+            this.floatingIntRange = floatingIntRange;
+            return this;
+        }
+
+        /**
+         * @return 使用当前属性创建的{@link StatBlock}
+         */
+        public StatBlock build()
+        {
+            return new StatBlock(this);
+        }
+    }
+
+    /**
+     * 一个单位攻击另一个单位时, 只取决于双方属性的结果.
+     *
+     * @author 留恋千年
+     * @version 1.0.0
+     * @since 2026-10-16
+     */
+    public static final class Matchup
+    {
+        private final StatBlock victim;
+        private final double hitRate;
+        private final double critChance;
+        private final double physicalDamage;
+        private final double expectedSwingDamage;
+
+        private Matchup(final StatBlock attacker, final StatBlock victim)
+        {
+            this.victim = victim;
+            this.hitRate = Value.attackHitRate(attacker.hit, victim.evade);
+            this.critChance = Value.attackerCritChance(attacker.crit, victim.resistance);
+            this.physicalDamage = Value.attackerPhysicalDamage(attacker.physicalAttack, victim.armor);
+            this.expectedSwingDamage = Value.expectedSwingDamage(attacker.hit, victim.evade, attacker.crit,
+                    victim.resistance, attacker.physicalAttack, victim.armor, attacker.critsEffect);
+        }
+
+        /**
+         * @return 被攻击者
+         */
+        public StatBlock victim()
+        {
+            return victim;
+        }
+
+        /**
+         * @return {@link Value#attackHitRate(int, int)}
+         */
+        public double hitRate()
+        {
+            return hitRate;
+        }
+
+        /**
+         * @return {@link Value#attackerCritChance(int, int)}
+         */
+        public double critChance()
+        {
+            return critChance;
+        }
+
+        /**
+         * @return {@link Value#attackerPhysicalDamage(double, double)}
+         */
+        public double physicalDamage()
+        {
+            return physicalDamage;
+        }
+
+        /**
+         * @return {@link Value#expectedSwingDamage(int, int, int, int, double, double, double)}
+         */
+        public double expectedSwingDamage()
+        {
+            return expectedSwingDamage;
+        }
+    }
+}
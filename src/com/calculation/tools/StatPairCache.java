@@ -0,0 +1,410 @@
+package com.calculation.tools;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存{@link KillAnalytics}中计算量较大的结果, 适合大量攻击者与被攻击者的属性重复出现的场景(例如同一模板的怪物).
+ * <p>
+ * 目前缓存的是{@link #swingsToKill(StatBlock, StatBlock, double)}, 直接计算时需要先求出{@link KillEstimate},
+ * 再二分查找十几次, 每次都要计算指数函数与平方根, 比一次查表慢一个数量级. 只需要一次除法的{@link CalculationTools.Value}
+ * 方法与{@link KillAnalytics#compute(StatBlock, StatBlock)}本身直接计算就比查表快, 不应该放在缓存中.
+ * <p>
+ * 键是结果用到的双方属性与击杀概率按位打包成的{@value #KEY_LONGS}个{@code long}, 整个表存放在一个
+ * {@link AtomicLongArray}中, 查询与插入都不会加锁, 也不会装箱或分配任何对象. 属性相同的不同{@link StatBlock}对象共用同一个结果.
+ * 每个槽位依次存放版本号, 键与结果. 写入前把版本号改为奇数, 写完后再改为下一个偶数,
+ * 读取时前后两次版本号相同且为偶数才认为读到的数据是完整的(顺序锁).
+ * 写入时如果版本号已经被其他线程占用就直接放弃写入, 所以任何线程都不会等待其他线程.
+ * <p>
+ * 每个键只能放在从其哈希值开始的{@value #WAYS}个相邻槽位中. 这些槽位都被占用时按 TinyLFU 的方式淘汰:
+ * 用一个4位计数器的 Count-Min Sketch 近似记录每个键最近被访问的次数, 只有新键的频率高于槽位中频率最低的键时
+ * 才替换它, 否则拒绝写入, 这样偶尔出现一次的键不会把经常访问的键挤出去. 每发生{@code 10 * capacity}次未命中,
+ * 所有计数器减半, 使频率反映最近的访问情况.
+ * <p>
+ * 每次访问(命中或未命中)只以{@code 1/}{@value #FREQUENCY_SAMPLE}的概率计入频率, 由每个线程自己的
+ * {@link ThreadLocalRandom}决定是否计入, 所以命中时大多不会写共享的计数器, 各个键频率的相对大小不变.
+ * 代价是新键平均要未命中{@value #FREQUENCY_SAMPLE}次左右才能替换不常访问的键. 并发更新计数器时可能丢失少量计数,
+ * 这只会影响淘汰的选择.
+ * <p>
+ * 命中, 未命中, 淘汰与拒绝写入的次数可以用来调整容量.
+ *
+ * @author 留恋千年
+ * @version 1.1.0
+ * @since 2026-10-16
+ */
+public final class StatPairCache
+{
+    /**每个键可以存放的相邻槽位数*/
+    static final int WAYS = 4;
+    /**每次访问以1/FREQUENCY_SAMPLE的概率计入访问频率, 必须是2的幂*/
+    static final int FREQUENCY_SAMPLE = 8;
+    /**键占用的long的个数*/
+    static final int KEY_LONGS = 8;
+    private static final int STAMP = 0;
+    private static final int KEY = 1;
+    private static final int RESULT = KEY + KEY_LONGS;
+    /**每个槽位占用的long的个数*/
+    private static final int SLOT_LONGS = RESULT + 1;
+
+    private final int capacity;
+    private final int slotMask;
+    private final AtomicLongArray table;
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * 创建一个缓存.
+     *
+     * @param capacity 最多缓存的结果数, 会向上取整为2的幂
+     * @throws IllegalArgumentException 如果{@code capacity}小于{@value #WAYS}或大于{@code 2^26}
+     */
+    public StatPairCache(final int capacity)
+    {
+        if (capacity < WAYS || capacity > 1 << 26)
+        {
+            throw new IllegalArgumentException("错误范围:" + capacity);
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.slotMask = this.capacity - 1;
+        this.table = new AtomicLongArray(this.capacity * SLOT_LONGS);
+        this.sketch = new FrequencySketch(this.capacity);
+    }
+
+    /**
+     * @return 最多缓存的结果数
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * 带缓存的{@code KillAnalytics.compute(attacker, victim).swingsToKill(probability)}, 结果与直接计算相同.
+     *
+     * @param attacker    攻击者
+     * @param victim      被攻击者
+     * @param probability 击杀概率, 在{@code (0, 1)}之间
+     * @return 击杀概率首次达到{@code probability}所需的攻击次数, 见{@link KillEstimate#swingsToKill(double)}
+     * @throws IllegalArgumentException 如果{@code probability}不在{@code (0, 1)}之间
+     * @throws NullPointerException     如果{@code attacker}或{@code victim}为null
+     */
+    public int swingsToKill(final StatBlock attacker, final StatBlock victim, final double probability)
+    {
+        if (!(probability > 0.0 && probability < 1.0))
+        {
+            throw new IllegalArgumentException("错误范围:" + probability);
+        }
+        //只包含影响结果的属性, doubleToLongBits把所有NaN规范化, 使相同的属性总是得到相同的键
+        final long hitCrit = pack(attacker.hit(), attacker.crit());
+        final long evadeResistance = pack(victim.evade(), victim.resistance());
+        final long rangeHp = pack(attacker.floatingIntRange(), victim.hp());
+        final long attack = Double.doubleToLongBits(attacker.physicalAttack());
+        final long critsEffect = Double.doubleToLongBits(attacker.critsEffect());
+        final long armor = Double.doubleToLongBits(victim.armor());
+        final long damageReduction = Double.doubleToLongBits(victim.damageReduction());
+        final long probabilityBits = Double.doubleToLongBits(probability);
+        final long hash = hash(hitCrit, evadeResistance, rangeHp, attack, critsEffect, armor, damageReduction,
+                probabilityBits);
+        if (sampled())
+        {
+            sketch.increment(hash);
+        }
+
+        final int bucket = (int) hash & slotMask;
+        for (int way = 0; way < WAYS; way++)
+        {
+            final int base = ((bucket + way) & slotMask) * SLOT_LONGS;
+            final long stamp = table.get(base + STAMP);
+            //0表示空槽位, 奇数表示正在写入
+            if (stamp == 0 || (stamp & 1) != 0 || !matches(base, hitCrit, evadeResistance, rangeHp, attack,
+                    critsEffect, armor, damageReduction, probabilityBits))
+            {
+                continue;
+            }
+            final long result = table.get(base + RESULT);
+            if (table.get(base + STAMP) == stamp)
+            {
+                hits.increment();
+                return (int) result;
+            }
+        }
+        misses.increment();
+        final int result = KillAnalytics.compute(attacker, victim).swingsToKill(probability);
+        put(hash, hitCrit, evadeResistance, rangeHp, attack, critsEffect, armor, damageReduction, probabilityBits,
+                result);
+        return result;
+    }
+
+    /**
+     * @return 命中的次数
+     */
+    public long hits()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return 未命中的次数
+     */
+    public long misses()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * @return 为了写入新结果而淘汰旧结果的次数
+     */
+    public long evictions()
+    {
+        return evictions.sum();
+    }
+
+    /**
+     * @return 新结果的访问频率不高于可淘汰的结果而没有写入的次数
+     */
+    public long rejections()
+    {
+        return rejections.sum();
+    }
+
+    /**
+     * @return 命中率, 还没有访问过时为NaN
+     */
+    public double hitRate()
+    {
+        final long hitCount = hits();
+        return (double) hitCount / (hitCount + misses());
+    }
+
+    /**
+     * 清空缓存的结果与计数, 不能与其他方法同时调用.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < table.length(); i++)
+        {
+            table.set(i, 0L);
+        }
+        sketch.clear();
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        rejections.reset();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StatPairCache{capacity=" + capacity + ", hits=" + hits() + ", misses=" + misses()
+                + ", evictions=" + evictions() + ", rejections=" + rejections() + '}';
+    }
+
+    private static long pack(final int first, final int second)
+    {
+        return (long) first << 32 | (second & 0xFFFF_FFFFL);
+    }
+
+    private boolean matches(final int base, final long hitCrit, final long evadeResistance, final long rangeHp,
+                            final long attack, final long critsEffect, final long armor, final long damageReduction,
+                            final long probabilityBits)
+    {
+        return table.get(base + KEY) == hitCrit
+                && table.get(base + KEY + 1) == evadeResistance
+                && table.get(base + KEY + 2) == rangeHp
+                && table.get(base + KEY + 3) == attack
+                && table.get(base + KEY + 4) == critsEffect
+                && table.get(base + KEY + 5) == armor
+                && table.get(base + KEY + 6) == damageReduction
+                && table.get(base + KEY + 7) == probabilityBits;
+    }
+
+    /**
+     * 写入结果, 槽位被其他线程占用或新键的频率不够高时放弃写入.
+     */
+    private void put(final long hash, final long hitCrit, final long evadeResistance, final long rangeHp,
+                     final long attack, final long critsEffect, final long armor, final long damageReduction,
+                     final long probabilityBits, final int result)
+    {
+        final int bucket = (int) hash & slotMask;
+        sketch.onMiss();
+
+        int victimSlot = -1;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int way = 0; way < WAYS; way++)
+        {
+            final int base = ((bucket + way) & slotMask) * SLOT_LONGS;
+            final long stamp = table.get(base + STAMP);
+            if (stamp == 0)
+            {
+                victimSlot = base;
+                victimFrequency = -1;
+                break;
+            }
+            if ((stamp & 1) != 0)
+            {
+                continue;
+            }
+            final boolean same = matches(base, hitCrit, evadeResistance, rangeHp, attack, critsEffect, armor,
+                    damageReduction, probabilityBits);
+            final long residentHash = hash(table.get(base + KEY), table.get(base + KEY + 1),
+                    table.get(base + KEY + 2), table.get(base + KEY + 3), table.get(base + KEY + 4),
+                    table.get(base + KEY + 5), table.get(base + KEY + 6), table.get(base + KEY + 7));
+            if (table.get(base + STAMP) != stamp)
+            {
+                continue;
+            }
+            if (same)
+            {
+                //其他线程已经写入了相同的键
+                return;
+            }
+            final int frequency = sketch.frequency(residentHash);
+            if (frequency < victimFrequency)
+            {
+                victimSlot = base;
+                victimFrequency = frequency;
+            }
+        }
+
+        if (victimSlot < 0)
+        {
+            return;
+        }
+        if (victimFrequency >= 0 && sketch.frequency(hash) <= victimFrequency)
+        {
+            rejections.increment();
+            return;
+        }
+        final long stamp = table.get(victimSlot + STAMP);
+        if ((stamp & 1) != 0 || !table.compareAndSet(victimSlot + STAMP, stamp, stamp + 1))
+        {
+            return;
+        }
+        table.set(victimSlot + KEY, hitCrit);
+        table.set(victimSlot + KEY + 1, evadeResistance);
+        table.set(victimSlot + KEY + 2, rangeHp);
+        table.set(victimSlot + KEY + 3, attack);
+        table.set(victimSlot + KEY + 4, critsEffect);
+        table.set(victimSlot + KEY + 5, armor);
+        table.set(victimSlot + KEY + 6, damageReduction);
+        table.set(victimSlot + KEY + 7, probabilityBits);
+        table.set(victimSlot + RESULT, result);
+        table.set(victimSlot + STAMP, stamp + 2);
+        if (stamp != 0)
+        {
+            evictions.increment();
+        }
+    }
+
+    private static long hash(final long hitCrit, final long evadeResistance, final long rangeHp, final long attack,
+                             final long critsEffect, final long armor, final long damageReduction,
+                             final long probabilityBits)
+    {
+        long hash = hitCrit * 0x9E37_79B9_7F4A_7C15L + evadeResistance;
+        hash = hash * 0x9E37_79B9_7F4A_7C15L + rangeHp;
+        hash = hash * 0x9E37_79B9_7F4A_7C15L + attack;
+        hash = hash * 0x9E37_79B9_7F4A_7C15L + critsEffect;
+        hash = hash * 0x9E37_79B9_7F4A_7C15L + armor;
+        hash = hash * 0x9E37_79B9_7F4A_7C15L + damageReduction;
+        hash = hash * 0x9E37_79B9_7F4A_7C15L + probabilityBits;
+        //MurmurHash3的fmix64
+        hash = (hash ^ (hash >>> 33)) * 0xFF51_AFD7_ED55_8CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CE_B9FE_1A85_EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static boolean sampled()
+    {
+        return (ThreadLocalRandom.current().nextInt() & (FREQUENCY_SAMPLE - 1)) == 0;
+    }
+
+    /**
+     * 4行4位计数器的 Count-Min Sketch, 每个long存放16个计数器.
+     */
+    private static final class FrequencySketch
+    {
+        private static final int ROWS = 4;
+        private static final long MAX_COUNT = 15L;
+        /**每行使用的种子*/
+        private static final long[] SEEDS = {
+                0xC3A5_C85C_97CB_3127L, 0xB492_B66F_BE98_F273L, 0x9AE1_6A3B_2F90_404FL, 0xCBF2_9CE4_8422_2325L};
+        private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+
+        private final AtomicLongArray counters;
+        private final int mask;
+        private final int sampleSize;
+        private final AtomicLong missCount = new AtomicLong();
+
+        private FrequencySketch(final int capacity)
+        {
+            this.counters = new AtomicLongArray(capacity);
+            this.mask = capacity - 1;
+            this.sampleSize = 10 * capacity;
+        }
+
+        private void increment(final long hash)
+        {
+            for (int row = 0; row < ROWS; row++)
+            {
+                final long rowHash = rowHash(hash, row);
+                final int index = (int) (rowHash >>> 4) & mask;
+                final int shift = ((int) rowHash & 15) << 2;
+                //用opaque读写代替CAS, 并发时丢失的计数不影响正确性
+                final long word = counters.getOpaque(index);
+                if ((word >>> shift & MAX_COUNT) != MAX_COUNT)
+                {
+                    counters.setOpaque(index, word + (1L << shift));
+                }
+            }
+        }
+
+        private int frequency(final long hash)
+        {
+            long frequency = MAX_COUNT;
+            for (int row = 0; row < ROWS; row++)
+            {
+                final long rowHash = rowHash(hash, row);
+                final int index = (int) (rowHash >>> 4) & mask;
+                final int shift = ((int) rowHash & 15) << 2;
+                frequency = Math.min(frequency, counters.getOpaque(index) >>> shift & MAX_COUNT);
+            }
+            return (int) frequency;
+        }
+
+        /**
+         * 每发生{@code sampleSize}次未命中, 所有计数器减半.
+         */
+        private void onMiss()
+        {
+            //每个sampleSize的整数倍只会被一个线程看到
+            if (missCount.incrementAndGet() % sampleSize == 0)
+            {
+                for (int i = 0; i < counters.length(); i++)
+                {
+                    counters.setOpaque(i, counters.getOpaque(i) >>> 1 & RESET_MASK);
+                }
+            }
+        }
+
+        private void clear()
+        {
+            for (int i = 0; i < counters.length(); i++)
+            {
+                counters.set(i, 0L);
+            }
+            missCount.set(0L);
+        }
+
+        private static long rowHash(final long hash, final int row)
+        {
+            final long mixed = (hash + SEEDS[row]) * SEEDS[row];
+            return mixed + (mixed >>> 32);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.calculation.tools;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.ASHR;
+import static jdk.incubator.vector.VectorOperators.EQ;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.I2D;
+import static jdk.incubator.vector.VectorOperators.LE;
+import static jdk.incubator.vector.VectorOperators.LSHL;
+import static jdk.incubator.vector.VectorOperators.LT;
+import static jdk.incubator.vector.VectorOperators.NE;
+import static jdk.incubator.vector.VectorOperators.NEG;
+
+/**
+ * {@link CalculationTools.Value}, {@link AreaResolver}与{@link MatchupMatrix}批量计算的{@code jdk.incubator.vector}实现.
+ * <p>
+ * 每个方法只处理能装满整条向量的部分, 返回第一个未处理元素的下标(输入与输出下标不同时返回已处理的元素个数),
+ * 剩余的尾部由调用者按标量方式计算.
+ * 标量方法中的分支都换成了掩码混合, 每个元素的结果与标量方法逐位相同.
+ * <p>
+ * 这个类只会在{@code jdk.incubator.vector}模块存在时被加载, 使用前必须检查{@code Value.VECTOR_ENABLED}.
+ *
+ * @author 留恋千年
+ * @version 1.2.0
+ * @since 2026-10-16
+ */
+final class VectorValue
+{
+    private static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+    /**与{@link #DOUBLE}的通道数相同的int向量*/
+    private static final VectorSpecies<Integer> INT = VectorSpecies.of(int.class,
+            VectorShape.forBitSize(DOUBLE.vectorBitSize() / 2));
+    /**与{@link #DOUBLE}的通道数相同的float向量*/
+    private static final VectorSpecies<Float> FLOAT = VectorSpecies.of(float.class, INT.vectorShape());
+
+    private VectorValue()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 判断当前平台是否值得使用向量实现.
+     *
+     * @return 如果每条向量至少有两个通道就返回{@code true}
+     */
+    static boolean isSupported()
+    {
+        return DOUBLE.length() >= 2;
+    }
+
+    static int attackHitRate(final int[] attackerHit, final int[] victimEvade, final double[] out,
+                             final int offset, final int length)
+    {
+        final int upper = offset + INT.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += INT.length())
+        {
+            final var hit = IntVector.fromArray(INT, attackerHit, i);
+            final var evade = IntVector.fromArray(INT, victimEvade, i);
+            //int转double是精确的, 在double上比较可以避免跨形状转换掩码
+            final var hitValue = toDouble(hit);
+            hitValue.div(toDouble(hit.add(evade)))
+                    .blend(0.0, toDouble(evade).compare(LE, 0.0))
+                    .blend(1.0, hitValue.compare(LE, 0.0))
+                    .intoArray(out, i);
+        }
+        return i;
+    }
+
+    static int attackerCritChance(final int[] attackerCrit, final int[] victimResistance, final double[] out,
+                                  final int offset, final int length)
+    {
+        final int upper = offset + INT.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += INT.length())
+        {
+            final var crit = IntVector.fromArray(INT, attackerCrit, i);
+            final var resistance = IntVector.fromArray(INT, victimResistance, i);
+            final var critValue = toDouble(crit);
+            critValue.div(toDouble(crit.add(resistance)))
+                    .blend(1.0, toDouble(resistance).compare(LE, 0.0))
+                    .blend(0.0, critValue.compare(LE, 0.0))
+                    .intoArray(out, i);
+        }
+        return i;
+    }
+
+    static int attackerPhysicalDamage(final double[] attackerPhysicalAttack, final double[] victimArmor,
+                                      final double[] out, final int offset, final int length)
+    {
+        final int upper = offset + DOUBLE.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += DOUBLE.length())
+        {
+            final var attack = DoubleVector.fromArray(DOUBLE, attackerPhysicalAttack, i);
+            final var armor = DoubleVector.fromArray(DOUBLE, victimArmor, i);
+
+            //与标量方法相同的NaN保护: 和为0时, 护甲非正则攻击加一, 否则护甲加一
+            final VectorMask<Double> zeroSum = attack.add(armor).compare(EQ, 0.0);
+            final VectorMask<Double> armorNonPositive = armor.compare(LE, 0.0);
+            final var fixedAttack = attack.add(1.0, zeroSum.and(armorNonPositive));
+            final var fixedArmor = armor.add(1.0, zeroSum.andNot(armorNonPositive));
+
+            fixedAttack.mul(fixedAttack).div(fixedAttack.add(fixedArmor)).intoArray(out, i);
+        }
+        return i;
+    }
+
+    static int victimEffectiveHp(final int[] victimHp, final double[] damageReduction, final double[] evadeChance,
+                                 final double[] out, final int offset, final int length)
+    {
+        final var one = DoubleVector.broadcast(DOUBLE, 1.0);
+        final int upper = offset + INT.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += INT.length())
+        {
+            final var hp = toDouble(IntVector.fromArray(INT, victimHp, i));
+            final var reduction = DoubleVector.fromArray(DOUBLE, damageReduction, i);
+            final var evade = DoubleVector.fromArray(DOUBLE, evadeChance, i);
+            hp.div(one.sub(reduction)).div(one.sub(evade))
+                    .blend(Integer.MAX_VALUE, evade.compare(GE, 1.0).or(reduction.compare(GE, 1.0)))
+                    .intoArray(out, i);
+        }
+        return i;
+    }
+
+    static int criticalDamage(final double[] hurt, final double[] critsEffect, final int[] out,
+                              final int offset, final int length)
+    {
+        final int upper = offset + DOUBLE.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += DOUBLE.length())
+        {
+            final var product = DoubleVector.fromArray(DOUBLE, hurt, i)
+                    .mul(DoubleVector.fromArray(DOUBLE, critsEffect, i));
+            round((FloatVector) product.castShape(FLOAT, 0)).intoArray(out, i);
+        }
+        return i;
+    }
+
+    /**
+     * 一个攻击者对多个被攻击者的命中几率, 暴击概率与伤害, 攻击者的数值广播到所有通道.
+     */
+    static int areaRates(final int hit, final int crit, final double attack, final int[] victimEvade,
+                         final int[] victimResistance, final double[] victimArmor, final double[] hitRate,
+                         final double[] critChance, final double[] damage, final int offset, final int length)
+    {
+        final var hitVector = IntVector.broadcast(INT, hit);
+        final var critVector = IntVector.broadcast(INT, crit);
+        final var hitValue = toDouble(hitVector);
+        final var critValue = toDouble(critVector);
+        final var attackValue = DoubleVector.broadcast(DOUBLE, attack);
+        //攻击者的数值小于等于0时结果与被攻击者无关, 在循环外判断
+        final boolean alwaysHit = hit <= 0;
+        final boolean neverCrit = crit <= 0;
+
+        final int upper = offset + INT.loopBound(length);
+        int i = offset;
+        for (; i < upper; i += INT.length())
+        {
+            final var evade = IntVector.fromArray(INT, victimEvade, i);
+            final var resistance = IntVector.fromArray(INT, victimResistance, i);
+            final var armor = DoubleVector.fromArray(DOUBLE, victimArmor, i);
+
+            if (alwaysHit)
+            {
+                DoubleVector.broadcast(DOUBLE, 1.0).intoArray(hitRate, i);
+            }
+            else
+            {
+                hitValue.div(toDouble(hitVector.add(evade)))
+                        .blend(0.0, toDouble(evade).compare(LE, 0.0))
+                        .intoArray(hitRate, i);
+            }
+            if (neverCrit)
+            {
+                DoubleVector.broadcast(DOUBLE, 0.0).intoArray(critChance, i);
+            }
+            else
+            {
+                critValue.div(toDouble(critVector.add(resistance)))
+                        .blend(1.0, toDouble(resistance).compare(LE, 0.0))
+                        .intoArray(critChance, i);
+            }
+
+            //与attackerPhysicalDamage相同的NaN保护
+            final VectorMask<Double> zeroSum = attackValue.add(armor).compare(EQ, 0.0);
+            final VectorMask<Double> armorNonPositive = armor.compare(LE, 0.0);
+            final var fixedAttack = attackValue.add(1.0, zeroSum.and(armorNonPositive));
+            final var fixedArmor = armor.add(1.0, zeroSum.andNot(armorNonPositive));
+            fixedAttack.mul(fixedAttack).div(fixedAttack.add(fixedArmor)).intoArray(damage, i);
+        }
+        return i;
+    }
+
+    /**
+     * 一个攻击者对连续多个被攻击者的命中几率, 暴击概率与每次攻击的期望伤害, 攻击者的数值广播到所有通道.
+     * 被攻击者从{@code victimOffset}开始读取, 结果从{@code outOffset}开始写入, 返回已经处理的元素个数.
+     */
+    static int matchupRow(final int hit, final int crit, final double attack, final double critsEffect,
+                          final int[] victimEvade, final int[] victimResistance, final double[] victimArmor,
+                          final int victimOffset, final double[] hitRate, final double[] critChance,
+                          final double[] expectedDamage, final int outOffset, final int length)
+    {
+        final var one = DoubleVector.broadcast(DOUBLE, 1.0);
+        final var hitVector = IntVector.broadcast(INT, hit);
+        final var critVector = IntVector.broadcast(INT, crit);
+        final var hitValue = toDouble(hitVector);
+        final var critValue = toDouble(critVector);
+        final var attackValue = DoubleVector.broadcast(DOUBLE, attack);
+        //与expectedSwingDamage一样先计算attackerCrit * critsEffect
+        final double critTerm = crit * critsEffect;
+        final boolean alwaysHit = hit <= 0;
+        final boolean neverCrit = crit <= 0;
+
+        final int bound = INT.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += INT.length())
+        {
+            final int v = victimOffset + i;
+            final int o = outOffset + i;
+            final var evade = IntVector.fromArray(INT, victimEvade, v);
+            final var resistance = IntVector.fromArray(INT, victimResistance, v);
+            final var armor = DoubleVector.fromArray(DOUBLE, victimArmor, v);
+
+            //命中几率 = hitNumerator / hitDenominator, 与expectedSwingDamage的拆分相同
+            DoubleVector hitNumerator = one;
+            DoubleVector hitDenominator = one;
+            if (!alwaysHit)
+            {
+                final VectorMask<Double> evadeNonPositive = toDouble(evade).compare(LE, 0.0);
+                hitNumerator = hitValue.blend(0.0, evadeNonPositive);
+                hitDenominator = toDouble(hitVector.add(evade)).blend(1.0, evadeNonPositive);
+            }
+            hitNumerator.div(hitDenominator).intoArray(hitRate, o);
+
+            DoubleVector critNumerator = one;
+            DoubleVector critDenominator = one;
+            if (neverCrit)
+            {
+                DoubleVector.broadcast(DOUBLE, 0.0).intoArray(critChance, o);
+            }
+            else
+            {
+                final var resistanceValue = toDouble(resistance);
+                final VectorMask<Double> resistanceNonPositive = resistanceValue.compare(LE, 0.0);
+                final var sum = toDouble(critVector.add(resistance));
+                critValue.div(sum).blend(1.0, resistanceNonPositive).intoArray(critChance, o);
+                critNumerator = resistanceValue.add(critTerm).blend(critsEffect, resistanceNonPositive);
+                critDenominator = sum.blend(1.0, resistanceNonPositive);
+            }
+
+            final VectorMask<Double> zeroSum = attackValue.add(armor).compare(EQ, 0.0);
+            final VectorMask<Double> armorNonPositive = armor.compare(LE, 0.0);
+            final var fixedAttack = attackValue.add(1.0, zeroSum.and(armorNonPositive));
+            final var fixedArmor = armor.add(1.0, zeroSum.andNot(armorNonPositive));
+            fixedAttack.mul(fixedAttack).mul(hitNumerator).mul(critNumerator)
+                    .div(fixedAttack.add(fixedArmor).mul(hitDenominator).mul(critDenominator))
+                    .intoArray(expectedDamage, o);
+        }
+        return i;
+    }
+
+    private static DoubleVector toDouble(final IntVector vector)
+    {
+        return (DoubleVector) vector.convertShape(I2D, DOUBLE, 0);
+    }
+
+    /**
+     * 按通道计算{@link Math#round(float)}, 照搬了它的位运算实现以保证结果逐位相同.
+     * <p>
+     * {@code Math.round}在无法按位舍入时会直接把float强制转换为int, 这里同样用位运算完成这一步,
+     * 因为 JDK 17 中 float 到 int 的向量转换没有被编译为向量指令.
+     */
+    private static IntVector round(final FloatVector value)
+    {
+        final var bits = value.reinterpretAsInts();
+        final var negative = bits.compare(LT, 0);
+        final var biasedExp = bits.and(0x7F800000).lanewise(ASHR, 23);
+        final var significand = bits.and(0x007FFFFF).or(0x00800000);
+        final var shift = IntVector.broadcast(INT, 23 + 126).sub(biasedExp);
+
+        //0 <= shift < 32 时value是有限数并且 2^-32 <= ulp(value) < 1, 按位舍入
+        final var rounded = significand.lanewise(NEG, negative).lanewise(ASHR, shift).add(1).lanewise(ASHR, 1);
+
+        //shift >= 32 时value的绝对值小于1/2, 结果为0
+        var result = rounded.blend(0, shift.compare(GE, 32));
+
+        //-8 <= shift < 0 时value是可以用int表示的整数, 直接左移
+        final var integral = significand.lanewise(LSHL, shift.neg().sub(1)).lanewise(NEG, negative);
+        result = result.blend(integral, shift.compare(LT, 0));
+
+        //shift < -8 时value超出了int的范围或是无穷大, 与强制转换一样取边界值, NaN则为0
+        final var saturated = IntVector.broadcast(INT, Integer.MAX_VALUE).blend(Integer.MIN_VALUE, negative);
+        result = result.blend(saturated, shift.compare(LT, -8));
+        return result.blend(0, biasedExp.compare(EQ, 0xFF).and(bits.and(0x007FFFFF).compare(NE, 0)));
+    }
+}
@@ -1,4 +1,8 @@
 module calculation
 {
+    requires static jdk.incubator.vector;
+    requires java.management;
+    requires jdk.jfr;
+
     exports com.calculation.tools;
-}
\ No newline at end of file
+}
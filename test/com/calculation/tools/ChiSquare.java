@@ -0,0 +1,219 @@
+package com.calculation.tools;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 测试随机数分布用的卡方检验.
+ * <p>
+ * 期望次数小于{@value #MIN_EXPECTED}的相邻区间会合并, 使卡方近似成立. 测试使用固定的种子, 结果是确定的,
+ * 显著性水平{@value #ALPHA}只用于判断实现是否有偏差.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+final class ChiSquare
+{
+    /**拒绝原假设的p值*/
+    static final double ALPHA = 1e-4;
+    /**合并后每个区间的最小期望次数*/
+    static final double MIN_EXPECTED = 5.0;
+
+    private ChiSquare()
+    {
+        throw new AssertionError();
+    }
+
+    /**
+     * 检验{@code observed}是否服从概率为{@code probabilities}的分布.
+     *
+     * @param observed      每个取值出现的次数
+     * @param probabilities 每个取值的概率, 总和为1
+     * @param message       失败时的说明
+     */
+    static void assertFits(final long[] observed, final double[] probabilities, final String message)
+    {
+        long total = 0;
+        for (final long count : observed)
+        {
+            total += count;
+        }
+        final List<double[]> bins = new ArrayList<>();
+        double expected = 0.0;
+        double actual = 0.0;
+        for (int i = 0; i < observed.length; i++)
+        {
+            expected += probabilities[i] * total;
+            actual += observed[i];
+            if (expected >= MIN_EXPECTED)
+            {
+                bins.add(new double[]{actual, expected});
+                expected = 0.0;
+                actual = 0.0;
+            }
+        }
+        if (bins.isEmpty())
+        {
+            throw new IllegalArgumentException("样本太少:" + total);
+        }
+        //剩下的尾部并入最后一个区间
+        final double[] last = bins.get(bins.size() - 1);
+        last[0] += actual;
+        last[1] += expected;
+
+        double statistic = 0.0;
+        for (final double[] bin : bins)
+        {
+            final double difference = bin[0] - bin[1];
+            statistic += difference * difference / bin[1];
+        }
+        assertPValue(statistic, bins.size() - 1, message);
+    }
+
+    /**
+     * 检验{@code observed}是否在所有取值上均匀分布.
+     *
+     * @param observed 每个取值出现的次数
+     * @param message  失败时的说明
+     */
+    static void assertUniform(final long[] observed, final String message)
+    {
+        final double[] probabilities = new double[observed.length];
+        Arrays.fill(probabilities, 1.0 / observed.length);
+        assertFits(observed, probabilities, message);
+    }
+
+    /**
+     * 检验两组次数是否来自同一个分布(齐性检验).
+     *
+     * @param first   第一组每个取值出现的次数
+     * @param second  第二组每个取值出现的次数
+     * @param message 失败时的说明
+     */
+    static void assertSameDistribution(final long[] first, final long[] second, final String message)
+    {
+        long firstTotal = 0;
+        long secondTotal = 0;
+        for (int i = 0; i < first.length; i++)
+        {
+            firstTotal += first[i];
+            secondTotal += second[i];
+        }
+        final double smaller = Math.min(firstTotal, secondTotal) / (double) (firstTotal + secondTotal);
+
+        //按两组合计的次数合并区间, 使较小一组的期望次数不小于MIN_EXPECTED
+        final List<long[]> bins = new ArrayList<>();
+        long a = 0;
+        long b = 0;
+        for (int i = 0; i < first.length; i++)
+        {
+            a += first[i];
+            b += second[i];
+            if ((a + b) * smaller >= MIN_EXPECTED)
+            {
+                bins.add(new long[]{a, b});
+                a = 0;
+                b = 0;
+            }
+        }
+        if (bins.isEmpty())
+        {
+            throw new IllegalArgumentException("样本太少:" + (firstTotal + secondTotal));
+        }
+        final long[] last = bins.get(bins.size() - 1);
+        last[0] += a;
+        last[1] += b;
+
+        final double total = firstTotal + secondTotal;
+        double statistic = 0.0;
+        for (final long[] bin : bins)
+        {
+            final double column = bin[0] + bin[1];
+            final double expectedFirst = column * firstTotal / total;
+            final double expectedSecond = column * secondTotal / total;
+            statistic += (bin[0] - expectedFirst) * (bin[0] - expectedFirst) / expectedFirst
+                    + (bin[1] - expectedSecond) * (bin[1] - expectedSecond) / expectedSecond;
+        }
+        assertPValue(statistic, bins.size() - 1, message);
+    }
+
+    private static void assertPValue(final double statistic, final int degreesOfFreedom, final String message)
+    {
+        if (degreesOfFreedom < 1)
+        {
+            throw new IllegalArgumentException("自由度太小:" + degreesOfFreedom);
+        }
+        final double p = upperTail(statistic, degreesOfFreedom);
+        assertTrue(p > ALPHA, () -> message + ": chi2=" + statistic + ", df=" + degreesOfFreedom + ", p=" + p);
+    }
+
+    /**
+     * 自由度为{@code k}的卡方分布大于{@code x}的概率, 即正则化的上不完全伽马函数{@code Q(k / 2, x / 2)}.
+     */
+    static double upperTail(final double x, final int k)
+    {
+        final double a = k / 2.0;
+        final double z = x / 2.0;
+        if (z <= 0.0)
+        {
+            return 1.0;
+        }
+        final double logPrefix = a * Math.log(z) - z - logGamma(a);
+        if (z < a + 1.0)
+        {
+            //级数展开P(a, z)
+            double term = 1.0 / a;
+            double sum = term;
+            for (int n = 1; n < 10_000 && Math.abs(term) > Math.abs(sum) * 1e-15; n++)
+            {
+                term *= z / (a + n);
+                sum += term;
+            }
+            return 1.0 - sum * Math.exp(logPrefix);
+        }
+        //连分式展开Q(a, z), 修正的 Lentz 算法
+        final double tiny = 1e-300;
+        double b = z + 1.0 - a;
+        double c = 1.0 / tiny;
+        double d = 1.0 / b;
+        double h = d;
+        for (int n = 1; n < 10_000; n++)
+        {
+            final double an = -n * (n - a);
+            b += 2.0;
+            d = an * d + b;
+            d = Math.abs(d) < tiny ? tiny : d;
+            c = b + an / c;
+            c = Math.abs(c) < tiny ? tiny : c;
+            d = 1.0 / d;
+            final double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1.0) < 1e-15)
+            {
+                break;
+            }
+        }
+        return Math.exp(logPrefix) * h;
+    }
+
+    /**
+     * Lanczos 近似的{@code ln Γ(x)}, {@code x > 0}.
+     */
+    static double logGamma(final double x)
+    {
+        final double[] coefficients = {76.18009172947146, -86.50532032941677, 24.01409824083091,
+                -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5};
+        double y = x;
+        final double tmp = x + 5.5 - (x + 0.5) * Math.log(x + 5.5);
+        double series = 1.000000000190015;
+        for (final double coefficient : coefficients)
+        {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
@@ -0,0 +1,243 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Tools;
+import com.calculation.tools.CalculationTools.Tools.SpecifiedDirection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Tools}中{@code floatingNumber}方法的分布检验.
+ * <p>
+ * 不指定方向时浮动值应在{@code [-range, range]}上均匀分布, 指定方向时在{@code [0, range]}或{@code [-range, 0]}上均匀分布.
+ * 范围较小时对每个取值做卡方检验; 范围接近{@code 2^31}时取值太多, 改为检验等宽区间以及模2, 模3的余数,
+ * 这时 Lemire 映射的拒绝概率很高, 缺少拒绝步骤会使相邻取值的概率相差一倍, 只有余数的检验能发现.
+ * <p>
+ * 按百分比浮动时浮动范围为{@code |number * floatingPercentage|}, 整数截断, 浮点数四舍五入.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+class FloatingNumberTest
+{
+    private static final int SMALL_SAMPLES = 200_000;
+    private static final int LARGE_SAMPLES = 1_000_000;
+    private static final int BUCKETS = 64;
+
+    @ParameterizedTest(name = "range={0}, sign={1}")
+    @CsvSource({
+            "0, ",
+            "1, ",
+            "7, ",
+            "100, ",
+            "1000, ",
+            "1, ONLY_INCREASE",
+            "100, ONLY_INCREASE",
+            "1000, ONLY_INCREASE",
+            "1, ONLY_REDUCED",
+            "100, ONLY_REDUCED",
+            "1000, ONLY_REDUCED"
+    })
+    void smallRangeIsUniform(final int range, final SpecifiedDirection sign)
+    {
+        final var random = new SplittableRandom(range * 7L + (sign == null ? 0 : sign.ordinal() + 1));
+        final IntSupplier offsets = sign == null ? () -> Tools.floatingNumber(random, 0, range)
+                : () -> Tools.floatingNumber(random, 0, range, sign);
+        final int min = sign == SpecifiedDirection.ONLY_INCREASE ? 0 : -range;
+        final int max = sign == SpecifiedDirection.ONLY_REDUCED ? 0 : range;
+
+        final long[] observed = new long[max - min + 1];
+        for (int i = 0; i < SMALL_SAMPLES; i++)
+        {
+            final int offset = offsets.getAsInt();
+            assertTrue(offset >= min && offset <= max, () -> "超出范围:" + offset);
+            observed[offset - min]++;
+        }
+        if (observed.length == 1)
+        {
+            assertEquals(SMALL_SAMPLES, observed[0]);
+        }
+        else
+        {
+            ChiSquare.assertUniform(observed, "range=" + range + ", sign=" + sign);
+        }
+    }
+
+    @ParameterizedTest(name = "range={0}, sign={1}")
+    @CsvSource({
+            //不指定方向时上界为2 * range + 1
+            "1073741824, ",
+            "1431655765, ",
+            "2147483647, ",
+            //指定方向时上界为range + 1
+            "1073741824, ONLY_INCREASE",
+            "1610612735, ONLY_INCREASE",
+            "2147483647, ONLY_INCREASE",
+            "1073741824, ONLY_REDUCED",
+            "1610612735, ONLY_REDUCED",
+            "2147483647, ONLY_REDUCED"
+    })
+    void largeRangeIsUniform(final int range, final SpecifiedDirection sign)
+    {
+        final var random = new SplittableRandom(range * 11L + (sign == null ? 0 : sign.ordinal() + 1));
+        final IntSupplier offsets = sign == null ? () -> Tools.floatingNumber(random, 0, range)
+                : () -> Tools.floatingNumber(random, 0, range, sign);
+        final long min = sign == SpecifiedDirection.ONLY_INCREASE ? 0 : -range;
+        final long max = sign == SpecifiedDirection.ONLY_REDUCED ? 0 : range;
+        final long size = max - min + 1;
+
+        final long[] buckets = new long[BUCKETS];
+        final long[] mod2 = new long[2];
+        final long[] mod3 = new long[3];
+        for (int i = 0; i < LARGE_SAMPLES; i++)
+        {
+            final int offset = offsets.getAsInt();
+            assertTrue(offset >= min && offset <= max, () -> "超出范围:" + offset);
+            final long index = offset - min;
+            buckets[(int) (index * BUCKETS / size)]++;
+            mod2[(int) (index % 2)]++;
+            mod3[(int) (index % 3)]++;
+        }
+        final String message = "range=" + range + ", sign=" + sign;
+        ChiSquare.assertFits(buckets, bucketProbabilities(size), message + ", 区间");
+        ChiSquare.assertFits(mod2, residueProbabilities(size, 2), message + ", 模2");
+        ChiSquare.assertFits(mod3, residueProbabilities(size, 3), message + ", 模3");
+    }
+
+    @Test
+    void maxRangeDoesNotOverflow()
+    {
+        final var random = new SplittableRandom(3);
+        boolean positive = false;
+        boolean negative = false;
+        for (int i = 0; i < 1000; i++)
+        {
+            final int offset = Tools.floatingNumber(random, 0, Integer.MAX_VALUE);
+            positive |= offset > 0;
+            negative |= offset < 0;
+            assertTrue(offset >= -Integer.MAX_VALUE);
+        }
+        assertTrue(positive && negative);
+    }
+
+    @Test
+    void rejectsNegativeRange()
+    {
+        final var random = new SplittableRandom(1);
+        assertThrows(IllegalArgumentException.class, () -> Tools.floatingNumber(random, 10, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> Tools.floatingNumber(random, 10, -1, SpecifiedDirection.ONLY_INCREASE));
+        assertThrows(IllegalArgumentException.class, () -> Tools.floatingNumber(random, 10, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> Tools.floatingNumber(random, 10.0, -0.1));
+        assertThrows(NullPointerException.class, () -> Tools.floatingNumber(random, 10, 1, null));
+    }
+
+    /**
+     * 浮动范围为{@code |number * floatingPercentage|}截断后的整数, 之前先把百分比截断为整数, 小于1的百分比不会浮动,
+     * 负数则得到负的范围.
+     */
+    @ParameterizedTest(name = "number={0}, percentage={1}")
+    @CsvSource({
+            "1000, 0.1, 900, 1100",
+            "-1000, 0.1, -1100, -900",
+            "999, 0.1, 900, 1098",
+            "-999, 0.1, -1098, -900",
+            "10, 1.5, -5, 25",
+            "-10, 1.5, -25, 5",
+            "-7, 0.0, -7, -7",
+            "0, 0.5, 0, 0"
+    })
+    void intPercentageRange(final int number, final double percentage, final int min, final int max)
+    {
+        final var random = new SplittableRandom(number * 13L + Double.hashCode(percentage));
+        assertUniformOn(() -> Tools.floatingNumber(random, number, percentage), min, max,
+                "number=" + number + ", percentage=" + percentage);
+    }
+
+    @ParameterizedTest(name = "number={0}, percentage={1}, sign={2}")
+    @CsvSource({
+            "1000, 0.1, ONLY_INCREASE, 1000, 1100",
+            "1000, 0.1, ONLY_REDUCED, 900, 1000",
+            "-1000, 0.1, ONLY_INCREASE, -1000, -900",
+            "-1000, 0.1, ONLY_REDUCED, -1100, -1000",
+            "-999, 0.1, ONLY_INCREASE, -999, -900"
+    })
+    void intPercentageRangeWithSign(final int number, final double percentage, final SpecifiedDirection sign,
+                                    final int min, final int max)
+    {
+        final var random = new SplittableRandom(number * 13L + sign.ordinal());
+        assertUniformOn(() -> Tools.floatingNumber(random, number, percentage, sign), min, max,
+                "number=" + number + ", percentage=" + percentage + ", sign=" + sign);
+    }
+
+    /**
+     * 浮点数的浮动范围为{@code |number * floatingPercentage|}四舍五入后的整数, 浮动后的结果向0截断.
+     */
+    @ParameterizedTest(name = "number={0}, percentage={1}")
+    @CsvSource({
+            "1000.6, 0.05, 950, 1050",
+            "-1000.4, 0.1, -1100, -900",
+            "10.0, 0.25, 7, 13",
+            "-10.0, 0.25, -13, -7",
+            "-3.0, 0.0, -3, -3"
+    })
+    void doublePercentageRange(final double number, final double percentage, final int min, final int max)
+    {
+        final var random = new SplittableRandom(Double.hashCode(number) * 13L + Double.hashCode(percentage));
+        assertUniformOn(() -> Tools.floatingNumber(random, number, percentage), min, max,
+                "number=" + number + ", percentage=" + percentage);
+    }
+
+    private static void assertUniformOn(final IntSupplier values, final int min, final int max, final String message)
+    {
+        final long[] observed = new long[max - min + 1];
+        for (int i = 0; i < SMALL_SAMPLES; i++)
+        {
+            final int value = values.getAsInt();
+            assertTrue(value >= min && value <= max, () -> message + ", 超出范围:" + value);
+            observed[value - min]++;
+        }
+        assertTrue(observed[0] > 0 && observed[observed.length - 1] > 0, () -> message + ", 没有取到边界");
+        if (observed.length > 1)
+        {
+            ChiSquare.assertUniform(observed, message);
+        }
+    }
+
+    /**
+     * {@code [0, size)}中的整数按{@code index * BUCKETS / size}分到各区间的概率.
+     */
+    private static double[] bucketProbabilities(final long size)
+    {
+        final double[] probabilities = new double[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+        {
+            //区间中最小的整数为ceil(bucket * size / BUCKETS)
+            final long first = Math.floorDiv(bucket * size + BUCKETS - 1, BUCKETS);
+            final long next = Math.floorDiv((bucket + 1) * size + BUCKETS - 1, BUCKETS);
+            probabilities[bucket] = (double) (next - first) / size;
+        }
+        return probabilities;
+    }
+
+    /**
+     * {@code [0, size)}中的整数除以{@code modulus}的余数的概率.
+     */
+    private static double[] residueProbabilities(final long size, final int modulus)
+    {
+        final double[] probabilities = new double[modulus];
+        for (int residue = 0; residue < modulus; residue++)
+        {
+            probabilities[residue] = (double) ((size - residue + modulus - 1) / modulus) / size;
+        }
+        return probabilities;
+    }
+}
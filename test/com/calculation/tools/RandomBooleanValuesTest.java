@@ -0,0 +1,118 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Tools;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Tools#randomBooleanValues(RandomGenerator, double, long[], int)}的分布与取随机数次数的检验.
+ * <p>
+ * 每64次判定共用的随机数个数只取决于概率二进制展开中最后一个1的位置, 二进制小数位数较少的概率(0.5, 0.25, 0.75)
+ * 在比较到最后一个1后就不再取随机数.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+class RandomBooleanValuesTest
+{
+    private static final int WORDS = 20_000;
+
+    @ParameterizedTest(name = "p={0}")
+    @CsvSource({
+            "0.5, 1",
+            "0.25, 2",
+            "0.75, 2",
+            "0.125, 3",
+            "0.625, 3",
+            "0.0, 0",
+            "1.0, 0"
+    })
+    void dyadicProbabilityStopsAtLastBit(final double p, final int maxDrawsPerWord)
+    {
+        final var random = new CountingRandom(new SplittableRandom(Double.hashCode(p)));
+        final long[] bits = new long[WORDS];
+        Tools.randomBooleanValues(random, p, bits, WORDS * Long.SIZE);
+        assertTrue(random.draws <= (long) maxDrawsPerWord * WORDS, () -> "p=" + p + ", draws=" + random.draws);
+        if (p == 0.5)
+        {
+            assertEquals(WORDS, random.draws);
+        }
+        assertFrequency(bits, p);
+    }
+
+    @ParameterizedTest(name = "p={0}")
+    @CsvSource({
+            "0.5",
+            "0.25",
+            "0.1",
+            "0.9",
+            "0.001"
+    })
+    void matchesProbability(final double p)
+    {
+        final var random = new SplittableRandom(Double.hashCode(p) * 7L);
+        final long[] bits = new long[WORDS];
+        Tools.randomBooleanValues(random, p, bits, WORDS * Long.SIZE);
+        assertFrequency(bits, p);
+
+        final var set = new BitSet();
+        Tools.randomBooleanValues(random, p, set, WORDS * Long.SIZE - 5);
+        final long trials = WORDS * Long.SIZE - 5;
+        assertTrue(set.length() <= trials);
+        assertEquals(trials * p, set.cardinality(), 5.0 * Math.sqrt(trials * p * (1.0 - p)) + 1e-9, "BitSet");
+    }
+
+    /**
+     * 每一组中结果为{@code true}的个数应服从{@code B(64, p)}.
+     */
+    private static void assertFrequency(final long[] bits, final double p)
+    {
+        final long[] observed = new long[Long.SIZE + 1];
+        for (final long word : bits)
+        {
+            observed[Long.bitCount(word)]++;
+        }
+        if (p == 0.0 || p == 1.0)
+        {
+            assertEquals(WORDS, observed[p == 0.0 ? 0 : Long.SIZE]);
+            return;
+        }
+        final double[] pmf = new double[Long.SIZE + 1];
+        double binomial = 1.0;
+        for (int k = 0; k <= Long.SIZE; k++)
+        {
+            pmf[k] = binomial * Math.pow(p, k) * Math.pow(1.0 - p, Long.SIZE - k);
+            binomial = binomial * (Long.SIZE - k) / (k + 1);
+        }
+        ChiSquare.assertFits(observed, pmf, "p=" + p);
+    }
+
+    /**
+     * 记录调用{@link #nextLong()}次数的随机数生成器.
+     */
+    private static final class CountingRandom implements RandomGenerator
+    {
+        private final RandomGenerator delegate;
+        private long draws;
+
+        private CountingRandom(final RandomGenerator delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public long nextLong()
+        {
+            draws++;
+            return delegate.nextLong();
+        }
+    }
+}
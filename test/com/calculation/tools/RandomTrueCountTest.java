@@ -0,0 +1,148 @@
+package com.calculation.tools;
+
+import com.calculation.tools.CalculationTools.Tools;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link Tools#randomTrueCount(java.util.random.RandomGenerator, int, double)}的分布检验.
+ * <p>
+ * 抽样结果与二项分布{@code B(trials, p)}的概率质量函数做卡方拟合优度检验, 并检查样本均值与方差.
+ * 参数覆盖逆变换法与 BTPE 的分界({@code trials * min(p, 1 - p) = 30})两侧, {@code p}接近0, 0.5与1,
+ * 以及{@code p > 0.5}时的对称变换.
+ *
+ * @author 留恋千年
+ * @version 1.0.0
+ * @since 2026-10-16
+ */
+class RandomTrueCountTest
+{
+    private static final int SAMPLES = 200_000;
+
+    @ParameterizedTest(name = "B({0}, {1})")
+    @CsvSource({
+            //逆变换法
+            "20, 0.3",
+            "1000, 0.01",
+            "59, 0.5",
+            "5000, 0.0001",
+            "3000, 0.002",
+            //BTPE
+            "61, 0.5",
+            "120, 0.25",
+            "5000, 0.5",
+            "3000, 0.02",
+            "100000, 0.49",
+            //p > 0.5, 逆变换法
+            "100, 0.8",
+            "5000, 0.9999",
+            "59, 0.50001",
+            //p > 0.5, BTPE
+            "200, 0.7",
+            "2000, 0.97",
+            "4000, 0.51"
+    })
+    void matchesBinomialDistribution(final int trials, final double p)
+    {
+        final var random = new SplittableRandom(trials * 31L + Double.hashCode(p));
+        final long[] observed = new long[trials + 1];
+        double sum = 0.0;
+        double sumOfSquares = 0.0;
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            final int count = Tools.randomTrueCount(random, trials, p);
+            assertTrue(count >= 0 && count <= trials, () -> "超出范围:" + count);
+            observed[count]++;
+            sum += count;
+            sumOfSquares += (double) count * count;
+        }
+        ChiSquare.assertFits(observed, binomialPmf(trials, p), "B(" + trials + ", " + p + ")");
+
+        final double mean = sum / SAMPLES;
+        final double variance = (sumOfSquares - sum * mean) / (SAMPLES - 1);
+        final double expectedMean = trials * p;
+        final double expectedVariance = trials * p * (1.0 - p);
+        //样本均值与样本方差的标准误差, 方差使用二项分布的四阶中心矩
+        final double meanError = Math.sqrt(expectedVariance / SAMPLES);
+        final double fourthMoment = expectedVariance * (1.0 + 3.0 * (trials - 2) * p * (1.0 - p));
+        final double varianceError = Math.sqrt((fourthMoment - expectedVariance * expectedVariance) / SAMPLES);
+        assertEquals(expectedMean, mean, 5.0 * meanError, "均值");
+        assertEquals(expectedVariance, variance, 5.0 * varianceError, "方差");
+    }
+
+    @ParameterizedTest(name = "B({0}, {1})")
+    @CsvSource({
+            "200, 0.3",
+            "50, 0.9",
+            "2000, 0.4",
+            "1000, 0.995"
+    })
+    void matchesLoopOfRandomBooleanValue(final int trials, final double p)
+    {
+        final int samples = 20_000;
+        final var random = new SplittableRandom(trials * 17L + Double.hashCode(p));
+        final long[] direct = new long[trials + 1];
+        final long[] loop = new long[trials + 1];
+        for (int i = 0; i < samples; i++)
+        {
+            direct[Tools.randomTrueCount(random, trials, p)]++;
+            int count = 0;
+            for (int j = 0; j < trials; j++)
+            {
+                if (Tools.randomBooleanValue(random, p))
+                {
+                    count++;
+                }
+            }
+            loop[count]++;
+        }
+        ChiSquare.assertSameDistribution(direct, loop, "B(" + trials + ", " + p + ")");
+    }
+
+    @Test
+    void degenerateProbabilities()
+    {
+        final var random = new SplittableRandom(1);
+        assertEquals(0, Tools.randomTrueCount(random, 1000, 0.0));
+        assertEquals(0, Tools.randomTrueCount(random, 1000, -0.5));
+        assertEquals(0, Tools.randomTrueCount(random, 1000, Double.NaN));
+        assertEquals(1000, Tools.randomTrueCount(random, 1000, 1.0));
+        assertEquals(1000, Tools.randomTrueCount(random, 1000, 1.5));
+        assertEquals(0, Tools.randomTrueCount(random, 0, 0.5));
+        assertEquals(Integer.MAX_VALUE, Tools.randomTrueCount(random, Integer.MAX_VALUE, 1.0));
+    }
+
+    @Test
+    void rejectsNegativeTrials()
+    {
+        assertThrows(IllegalArgumentException.class, () -> Tools.randomTrueCount(new SplittableRandom(1), -1, 0.5));
+        assertThrows(NullPointerException.class, () -> Tools.randomTrueCount(null, 10, 0.5));
+    }
+
+    /**
+     * {@code B(n, p)}的概率质量函数, 在对数空间计算以免{@code n}较大时下溢.
+     */
+    private static double[] binomialPmf(final int n, final double p)
+    {
+        final double logP = Math.log(p);
+        final double logQ = Math.log1p(-p);
+        final double[] pmf = new double[n + 1];
+        double logBinomial = 0.0;
+        for (int k = 0; k <= n; k++)
+        {
+            if (k > 0)
+            {
+                logBinomial += Math.log(n - k + 1) - Math.log(k);
+            }
+            pmf[k] = Math.exp(logBinomial + k * logP + (n - k) * logQ);
+        }
+        return pmf;
+    }
+}